@@ -0,0 +1,62 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.audit.AuditContext;
+import study.datajpa.audit.AuditorIds;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auditing 비용 비교 (8 스레드 동시 저장)
+ * - save: 요청 하나(auditor 설정) 안에서 회원 저장 1건, auditor 방식(datajpa.audit.auditor)만 다름
+ * - auditorOnly: DB 없이 auditor + 시각 생성 비용만
+ * ./gradlew jmh (build/results/jmh/results.json)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(8)
+public class AuditingBenchmark {
+
+    @Param({"REQUEST", "UUID"})
+    String auditor;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("audit" + auditor, "datajpa.audit.auditor=" + auditor);
+        memberRepository = context.getBean(MemberRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Member save() {
+        AuditContext.setAuditor(AuditorIds.next()); //AuditorFilter와 같은 요청 단위 설정
+        try {
+            return memberRepository.save(new Member("audit", 20));
+        } finally {
+            AuditContext.clearAuditor();
+        }
+    }
+
+    @Benchmark
+    public Object auditorOnly() {
+        if ("UUID".equals(auditor)) {
+            return UUID.randomUUID().toString() + LocalDateTime.now();
+        }
+        return AuditContext.currentAuditor() + AuditContext.now();
+    }
+}
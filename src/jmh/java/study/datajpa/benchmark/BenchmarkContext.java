@@ -0,0 +1,71 @@
+package study.datajpa.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.DataJpaApplication;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 공통: 인메모리 H2로 애플리케이션 컨텍스트 띄우고 JDBC로 대량 데이터 적재
+ * - JPA save()로 넣으면 적재 시간이 측정보다 길어짐 -> JdbcTemplate batchUpdate
+ * - id는 시퀀스와 겹치지 않게 ID_OFFSET 부터 사용
+ */
+public final class BenchmarkContext {
+    public static final long ID_OFFSET = 100_000_000L;
+    private static final int INSERT_BATCH = 5_000;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String dbName, String... properties) {
+        List<String> props = new ArrayList<>();
+        props.add("spring.datasource.url=jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1");
+        props.add("spring.datasource.username=sa");
+        props.add("spring.datasource.password=");
+        props.add("logging.level.org.hibernate.SQL=warn");
+        props.add("decorator.datasource.p6spy.enable-logging=false");
+        props.addAll(List.of(properties));
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(props.toArray(new String[0]))
+                .run();
+    }
+
+    /**
+     * 팀 teamCount개 + 회원 memberCount개 (회원은 팀에 순서대로 배정, teamCount == 0 이면 팀 없음)
+     */
+    public static void insertMembers(JdbcTemplate jdbc, int memberCount, int teamCount, int age) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> teams = new ArrayList<>();
+        for (int i = 0; i < teamCount; i++) {
+            teams.add(new Object[]{ID_OFFSET + i, "team" + i, now, now, 0L});
+        }
+        if (!teams.isEmpty()) {
+            jdbc.batchUpdate("insert into team (team_id, name, create_date, update_date, version) values (?, ?, ?, ?, ?)", teams);
+        }
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < memberCount; i++) {
+            Long teamId = teamCount == 0 ? null : ID_OFFSET + (i % teamCount);
+            batch.add(new Object[]{ID_OFFSET + i, String.format("member%09d", i), age, teamId, now, now, 0L});
+            if (batch.size() == INSERT_BATCH) {
+                insertMemberBatch(jdbc, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertMemberBatch(jdbc, batch);
+        }
+    }
+
+    private static void insertMemberBatch(JdbcTemplate jdbc, List<Object[]> batch) {
+        jdbc.batchUpdate("insert into member (member_id, username, age, team_id, created_date, last_modified_date, version)" +
+                " values (?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
@@ -0,0 +1,110 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberProjection;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.projections.NestedClosedProjections;
+import study.datajpa.repository.projections.UsernameOnlyDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberRepository 조회 전략 비교 (회원 + 팀 이름 전체 조회)
+ * - 매 호출마다 새 읽기 전용 트랜잭션 = 새 영속성 컨텍스트 (1차 캐시 효과 제거)
+ * - 2차 캐시(Team), 지연 로딩 배치 조회 끔 -> lazyLoading이 실제 N+1 기준선 (켜두면 캐시 hit + IN 조회를 재게 됨)
+ * - 처리량(Throughput) + 지연 분포(SampleTime) + 할당량(gc 프로파일러, build.gradle)
+ * ./gradlew jmh (build/results/jmh/results.json)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class FetchStrategyBenchmark {
+    private static final int TEAMS = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    int members;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("fetch" + members,
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "spring.jpa.properties.hibernate.default_batch_fetch_size=1",
+                "datajpa.batch-fetch.sizes.Team=1",
+                "datajpa.batch-fetch.sizes[Team.members]=1");
+        BenchmarkContext.insertMembers(context.getBean(JdbcTemplate.class), members, TEAMS, 20);
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 기준: 지연 로딩 + team 접근 (N+1, 팀 수만큼 추가 쿼리)
+     */
+    @Benchmark
+    public List<Member> lazyLoading() {
+        return readOnlyTx.execute(status -> {
+            List<Member> result = memberRepository.findMemberCustom();
+            for (Member member : result) {
+                if (member.getTeam() != null) {
+                    member.getTeam().getName();
+                }
+            }
+            return result;
+        });
+    }
+
+    @Benchmark
+    public List<Member> fetchJoin() {
+        return readOnlyTx.execute(status -> memberRepository.findMemberFetchJoin());
+    }
+
+    @Benchmark
+    public List<Member> entityGraphFindAll() {
+        return readOnlyTx.execute(status -> memberRepository.findAll());
+    }
+
+    @Benchmark
+    public List<Member> entityGraphJpql() {
+        return readOnlyTx.execute(status -> memberRepository.findMemberEntityGraph());
+    }
+
+    @Benchmark
+    public List<MemberDto> dtoNewOperation() {
+        return readOnlyTx.execute(status -> memberRepository.findMemberDto());
+    }
+
+    @Benchmark
+    public List<UsernameOnlyDto> classProjection() {
+        return readOnlyTx.execute(status -> memberRepository.findAllProjectedBy(UsernameOnlyDto.class));
+    }
+
+    @Benchmark
+    public List<NestedClosedProjections> nestedInterfaceProjection() {
+        return readOnlyTx.execute(status -> memberRepository.findAllProjectedBy(NestedClosedProjections.class));
+    }
+
+    @Benchmark
+    public List<MemberProjection> nativeProjection() {
+        return readOnlyTx.execute(status -> memberRepository.findByNativeProjection(Pageable.unpaged()).getContent());
+    }
+}
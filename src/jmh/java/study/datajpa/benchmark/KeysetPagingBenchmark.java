@@ -0,0 +1,66 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberJpaRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * offset 페이징(findByPage) vs keyset 페이징(findByPageAfter)
+ * - page가 깊어질수록 offset은 선형으로 느려지고, keyset은 page 0과 같은 시간이어야 함
+ * ./gradlew jmh (build/results/jmh/results.json)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KeysetPagingBenchmark {
+    private static final int AGE = 10;
+    private static final int PAGE_SIZE = 20;
+    private static final int ROWS = 250_000;
+
+    @Param({"0", "100", "1000", "10000"})
+    int page;
+
+    private ConfigurableApplicationContext context;
+    private MemberJpaRepository memberJpaRepository;
+    private String lastUsername;
+    private Long lastId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("keyset");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkContext.insertMembers(jdbc, ROWS, 0, AGE);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+
+        //page 번호 -> 직전 페이지 마지막 행의 (username, id) = 커서
+        if (page > 0) {
+            Map<String, Object> row = jdbc.queryForMap("select username, member_id from member where age = ?" +
+                    " order by username desc, member_id desc limit 1 offset ?", AGE, page * PAGE_SIZE - 1);
+            lastUsername = (String) row.get("USERNAME");
+            lastId = ((Number) row.get("MEMBER_ID")).longValue();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> offset() {
+        return memberJpaRepository.findByPage(AGE, page * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Member> keyset() {
+        return memberJpaRepository.findByPageAfter(AGE, lastUsername, lastId, PAGE_SIZE);
+    }
+}
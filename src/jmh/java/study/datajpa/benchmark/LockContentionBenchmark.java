@@ -0,0 +1,92 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.retry.OptimisticRetryExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쓰기 경합: 비관적 락(findLockByUsername) vs 낙관적 락(@Version + OptimisticRetryExecutor)
+ * - 한 번 측정 = 회원 HOT_ROWS명의 나이를 threads개 스레드가 나눠서 OPERATIONS번 +1
+ * - 스레드 수를 늘리며 같은 작업량을 끝내는 시간 비교 (경합 적으면 낙관적 유리, 심하면 재시도 비용 증가)
+ * ./gradlew jmh (build/results/jmh/results.json)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class LockContentionBenchmark {
+    private static final int HOT_ROWS = 4;
+    private static final int OPERATIONS = 400;
+
+    @Param({"1", "2", "4", "8", "16"})
+    int threads;
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC"})
+    String mode;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private OptimisticRetryExecutor retryExecutor;
+    private TransactionTemplate tx;
+    private ExecutorService workers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        //재시도 횟수 넉넉하게: 경합이 심해도 실패 없이 처리 시간만 비교
+        context = BenchmarkContext.start("lock" + threads + mode, "datajpa.retry.max-attempts=1000");
+        memberRepository = context.getBean(MemberRepository.class);
+        retryExecutor = context.getBean(OptimisticRetryExecutor.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        for (int i = 0; i < HOT_ROWS; i++) {
+            memberRepository.save(new Member("hot" + i, 0));
+        }
+        workers = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workers.shutdown();
+        context.close();
+    }
+
+    @Benchmark
+    public void increment() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(OPERATIONS);
+        for (int i = 0; i < OPERATIONS; i++) {
+            String username = "hot" + (i % HOT_ROWS);
+            futures.add(workers.submit("PESSIMISTIC".equals(mode)
+                    ? () -> pessimistic(username)
+                    : () -> optimistic(username)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void pessimistic(String username) {
+        tx.executeWithoutResult(status -> {
+            Member member = memberRepository.findLockByUsername(username).get(0); //select ... for update
+            member.setAge(member.getAge() + 1);
+        });
+    }
+
+    private void optimistic(String username) {
+        retryExecutor.execute(() -> {
+            Member member = memberRepository.findByUsername(username).get(0);
+            member.setAge(member.getAge() + 1); //커밋 시 where version = ?
+            return null;
+        });
+    }
+}
@@ -2,22 +2,14 @@ package study.datajpa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-import java.util.Optional;
-import java.util.UUID;
-
-@EnableJpaAuditing//(modifyOnCreate = false) : update = null (비권장!) //등록일, 수정일 같은 공통 관심사
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")//(modifyOnCreate = false) : update = null (비권장!) //등록일, 수정일 같은 공통 관심사 (auditor, 시각: AuditConfig)
+@EnableScheduling //replica 상태 확인 등 주기 작업
 @SpringBootApplication
 public class DataJpaApplication {
     public static void main(String[] args) {
         SpringApplication.run(DataJpaApplication.class, args);
     }
-
-    @Bean
-    public AuditorAware<String> auditorProvider() {
-        return () -> Optional.of(UUID.randomUUID().toString());
-    }
 }
@@ -0,0 +1,31 @@
+package study.datajpa.audit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data Auditing(@CreatedBy, @CreatedDate ...)에 쓰는 auditor, 시각
+ * - 둘 다 AuditContext에서 -> 요청 단위 auditor + stamped() 시각 공유
+ */
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    public AuditorAware<String> auditorProvider(@Value("${datajpa.audit.auditor:REQUEST}") AuditorMode mode) {
+        if (mode == AuditorMode.UUID) {
+            return () -> Optional.of(UUID.randomUUID().toString());
+        }
+        return () -> Optional.of(AuditContext.currentAuditor());
+    }
+
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(AuditContext.now());
+    }
+}
@@ -0,0 +1,61 @@
+package study.datajpa.audit;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 auditor, 감사 시각
+ * - auditor: 요청마다 AuditorFilter가 설정 (요청 밖: SYSTEM)
+ * - 시각: stamped(...) 안에서는 시작 시각 하나를 모든 엔티티가 공유 (대량 등록/수정 시 엔티티마다 now() X, 한 작업 = 같은 시각)
+ */
+public final class AuditContext {
+    public static final String SYSTEM = "system";
+
+    private static final ThreadLocal<String> AUDITOR = new ThreadLocal<>();
+    private static final ThreadLocal<LocalDateTime> STAMP = new ThreadLocal<>();
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    private AuditContext() {
+    }
+
+    public static String currentAuditor() {
+        String auditor = AUDITOR.get();
+        return auditor != null ? auditor : SYSTEM;
+    }
+
+    public static void setAuditor(String auditor) {
+        AUDITOR.set(auditor);
+    }
+
+    public static void clearAuditor() {
+        AUDITOR.remove();
+    }
+
+    public static LocalDateTime now() {
+        LocalDateTime stamp = STAMP.get();
+        return stamp != null ? stamp : LocalDateTime.now(clock);
+    }
+
+    /**
+     * action 안의 모든 감사 시각 = 시작 시각 (중첩되면 바깥 시각 유지)
+     */
+    public static <T> T stamped(Supplier<T> action) {
+        if (STAMP.get() != null) {
+            return action.get();
+        }
+        STAMP.set(LocalDateTime.now(clock));
+        try {
+            return action.get();
+        } finally {
+            STAMP.remove();
+        }
+    }
+
+    /**
+     * 테스트 등에서 시계 교체
+     */
+    public static void setClock(Clock clock) {
+        AuditContext.clock = clock;
+    }
+}
@@ -0,0 +1,33 @@
+package study.datajpa.audit;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청마다 auditor 한 번 결정 -> 요청 안의 모든 저장이 같은 값 사용
+ * - 로그인 사용자가 있으면 사용자 이름, 없으면 AuditorIds.next()
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AuditorFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String user = request.getRemoteUser();
+        AuditContext.setAuditor(user != null ? user : AuditorIds.next());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            AuditContext.clearAuditor();
+        }
+    }
+}
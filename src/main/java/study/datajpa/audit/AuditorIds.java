@@ -0,0 +1,21 @@
+package study.datajpa.audit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가벼운 auditor id: JVM마다 한 번 만든 prefix + 순번 (ex. 3f9a1c7e-1a2b)
+ * - UUID.randomUUID(): 호출마다 SecureRandom (동시 저장 시 경합) + 36자 문자열
+ * - 여기서는 요청당 AtomicLong 증가 한 번 -> JVM 안에서 유일, 재시작해도 prefix가 달라서 구분됨
+ */
+public final class AuditorIds {
+    private static final String PREFIX = Integer.toHexString(ThreadLocalRandom.current().nextInt() | 0x10000000);
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private AuditorIds() {
+    }
+
+    public static String next() {
+        return PREFIX + "-" + Long.toString(SEQUENCE.incrementAndGet(), 36);
+    }
+}
@@ -0,0 +1,10 @@
+package study.datajpa.audit;
+
+/**
+ * datajpa.audit.auditor
+ * - REQUEST: 요청 단위 auditor (AuditContext, 기본)
+ * - UUID: 이전 방식, 저장마다 UUID.randomUUID() (비교용)
+ */
+public enum AuditorMode {
+    REQUEST, UUID
+}
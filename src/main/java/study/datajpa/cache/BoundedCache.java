@@ -0,0 +1,135 @@
+package study.datajpa.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 크기 + TTL 제한 메모리 캐시 (LRU)
+ * - maxSize 넘으면 가장 오래 안 쓴 항목 제거, ttl 지난 항목은 조회 시 제거
+ * - null 값은 저장하지 않음
+ * - 무효화 도중 로딩된 값은 저장 안 함 (generation 비교) -> 무효화 전 값이 다시 들어가는 것 방지
+ */
+public class BoundedCache<K, V> {
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maxSize, Duration ttl) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시에 있으면 반환(hit), 없으면 null(miss)
+     */
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.createdAt < ttlNanos) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long gen = generation.get();
+        V value = loader.get();
+        putIfCurrent(key, value, gen);
+        return value;
+    }
+
+    /**
+     * generation이 그대로일 때만 저장 (로딩 시작 전에 generation()으로 받아둔 값)
+     */
+    public void putIfCurrent(K key, V value, long gen) {
+        if (value == null) {
+            return;
+        }
+        synchronized (entries) {
+            if (gen == generation.get()) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            }
+        }
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateIf(Predicate<K> condition) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            for (Iterator<K> it = entries.keySet().iterator(); it.hasNext(); ) {
+                if (condition.test(it.next())) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public BoundedCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new BoundedCacheStats(name, hits.sum(), misses.sum(), evictions.sum(), size, maxSize);
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long createdAt;
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package study.datajpa.cache;
+
+import lombok.Getter;
+
+/**
+ * 메모리 캐시 통계
+ * - evictionCount: 크기 초과 또는 TTL 만료로 제거된 수 (무효화 제외)
+ */
+@Getter
+public class BoundedCacheStats {
+    private final String name;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final int maxSize;
+
+    public BoundedCacheStats(String name, long hitCount, long missCount, long evictionCount, int size, int maxSize) {
+        this.name = name;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,87 @@
+package study.datajpa.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * BoundedCache + single-flight 로딩
+ * - 같은 키를 동시에 miss -> 한 스레드만 loader 실행, 나머지는 그 결과를 기다림 (캐시 만료 직후 DB 몰림 방지)
+ * - loader 예외는 기다리던 스레드 모두에게 전달, 저장 X
+ * - 무효화 시 진행 중인 로딩도 떼어냄 -> 이후 요청은 무효화 전에 시작된 조회 결과를 기다리지 않음
+ */
+public class NearCache<K, V> {
+    private final BoundedCache<K, V> cache;
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public NearCache(String name, int maxSize, Duration ttl) {
+        this.cache = new BoundedCache<>(name, maxSize, ttl);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            coalesced.increment();
+            return join(inFlight);
+        }
+        try {
+            long gen = cache.generation();
+            loads.increment();
+            V value = loader.get();
+            cache.putIfCurrent(key, value, gen);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(K key) {
+        cache.invalidate(key);
+        loading.remove(key);
+    }
+
+    public void invalidateIf(Predicate<K> condition) {
+        cache.invalidateIf(condition);
+        loading.keySet().removeIf(condition);
+    }
+
+    public void clear() {
+        cache.clear();
+        loading.clear();
+    }
+
+    public NearCacheStats stats() {
+        return new NearCacheStats(cache.stats(), loads.sum(), coalesced.sum());
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.cache;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Getter;
+
+/**
+ * NearCache 통계
+ * - loadCount: 실제 DB 조회 수, coalescedCount: 다른 스레드의 조회 결과를 기다려서 받은 수
+ */
+@Getter
+public class NearCacheStats {
+    @JsonUnwrapped
+    private final BoundedCacheStats cache;
+    private final long loadCount;
+    private final long coalescedCount;
+
+    public NearCacheStats(BoundedCacheStats cache, long loadCount, long coalescedCount) {
+        this.cache = cache;
+        this.loadCount = loadCount;
+        this.coalescedCount = coalescedCount;
+    }
+}
@@ -0,0 +1,137 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.cache.BoundedCacheStats;
+import study.datajpa.cache.NearCacheStats;
+import study.datajpa.datasource.pool.EndpointHoldSnapshot;
+import study.datajpa.datasource.pool.PoolMetrics;
+import study.datajpa.datasource.pool.PoolSnapshot;
+import study.datajpa.diagnostics.AssociationFetchStats;
+import study.datajpa.diagnostics.BatchFetchStatistics;
+import study.datajpa.diagnostics.CacheRegionStats;
+import study.datajpa.diagnostics.CacheStatistics;
+import study.datajpa.diagnostics.MethodStatsSnapshot;
+import study.datajpa.diagnostics.QueryStatistics;
+import study.datajpa.diagnostics.QueryStatsSnapshot;
+import study.datajpa.diagnostics.RepositoryMetrics;
+import study.datajpa.repository.lookup.MemberLookupCache;
+import study.datajpa.repository.retry.OptimisticRetryExecutor;
+import study.datajpa.repository.retry.RetryStats;
+import study.datajpa.repository.spec.SpecCacheStats;
+import study.datajpa.repository.spec.SpecificationQueryCache;
+
+import java.util.List;
+
+/**
+ * 운영 진단용 조회 API (외부 APM 없이 확인)
+ */
+@RestController
+@RequiredArgsConstructor
+public class DiagnosticsController {
+    private final CacheStatistics cacheStatistics;
+    private final RepositoryMetrics repositoryMetrics;
+    private final SpecificationQueryCache specificationQueryCache;
+    private final BatchFetchStatistics batchFetchStatistics;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final MemberProjectionConverter memberProjectionConverter;
+    private final MemberLookupCache memberLookupCache;
+    private final PoolMetrics poolMetrics;
+    private final QueryStatistics queryStatistics;
+
+    /**
+     * 2차 캐시/쿼리 캐시 region별 hit/miss/eviction
+     */
+    @GetMapping("/diagnostics/cache")
+    public List<CacheRegionStats> cache() {
+        return cacheStatistics.regions();
+    }
+
+    /**
+     * 리포지토리 메서드별 지연 시간(p50/p99/p999), 행 수, 오류율 - 누적 시간 큰 순서
+     */
+    @GetMapping("/diagnostics/repositories")
+    public List<MethodStatsSnapshot> repositories() {
+        return repositoryMetrics.snapshot();
+    }
+
+    @DeleteMapping("/diagnostics/repositories")
+    public void resetRepositories() {
+        repositoryMetrics.reset();
+    }
+
+    /**
+     * Specification JPQL 번역 캐시 hit/miss
+     */
+    @GetMapping("/diagnostics/spec-cache")
+    public SpecCacheStats specCache() {
+        return specificationQueryCache.stats();
+    }
+
+    /**
+     * 지연 로딩 배치 조회: 엔티티/컬렉션별 DB 왕복 수와 절약한 조회 수
+     */
+    @GetMapping("/diagnostics/batch-fetch")
+    public List<AssociationFetchStats> batchFetch() {
+        return batchFetchStatistics.associations();
+    }
+
+    /**
+     * 낙관적 락 충돌/재시도 횟수
+     */
+    @GetMapping("/diagnostics/retry")
+    public RetryStats retry() {
+        return optimisticRetryExecutor.stats();
+    }
+
+    /**
+     * @Projected 경로 변수 캐시 hit/miss
+     */
+    @GetMapping("/diagnostics/projection-cache")
+    public BoundedCacheStats projectionCache() {
+        return memberProjectionConverter.stats();
+    }
+
+    /**
+     * 회원 id/username near-cache hit 비율, DB 조회 수, 동시 miss 합쳐진 수
+     */
+    @GetMapping("/diagnostics/near-cache")
+    public List<NearCacheStats> nearCache() {
+        return memberLookupCache.stats();
+    }
+
+    /**
+     * 커넥션 풀별 active/idle/pending, 커넥션 대기(acquire)/점유(usage) 시간, 자동 크기 조절 마지막 판단
+     * - /members 가 느릴 때: acquire가 크면 커넥션 대기, usage가 크면 쿼리(DB)
+     */
+    @GetMapping("/diagnostics/pool")
+    public List<PoolSnapshot> pool() {
+        return poolMetrics.pools();
+    }
+
+    /**
+     * 엔드포인트별 요청당 커넥션 점유 시간 - 누적 시간 큰 순서
+     */
+    @GetMapping("/diagnostics/pool/endpoints")
+    public List<EndpointHoldSnapshot> poolEndpoints() {
+        return poolMetrics.endpoints();
+    }
+
+    /**
+     * SQL 지문별(리터럴/IN 목록 정규화) 실행 수, 누적 시간, p99 + 가장 느린 실행의 파라미터
+     * /diagnostics/queries?sort=total&limit=20 (sort: total, calls, p99)
+     */
+    @GetMapping("/diagnostics/queries")
+    public List<QueryStatsSnapshot> queries(@RequestParam(value = "sort", defaultValue = "total") String sort,
+                                            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return queryStatistics.top(sort, limit);
+    }
+
+    @DeleteMapping("/diagnostics/queries")
+    public void resetQueries() {
+        queryStatistics.reset();
+    }
+}
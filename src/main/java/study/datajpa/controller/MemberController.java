@@ -1,37 +1,94 @@
 package study.datajpa.controller;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.datajpa.dto.CursorPage;
+import study.datajpa.dto.MemberCursor;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberImportRow;
 import study.datajpa.entity.Member;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberTableVersion;
+import study.datajpa.repository.count.CountMode;
+import study.datajpa.repository.custom.MemberQueryRepository;
+import study.datajpa.repository.event.MemberChangeCounter;
+import study.datajpa.repository.lookup.CachedMember;
+import study.datajpa.repository.lookup.MemberLookupCache;
+import study.datajpa.repository.projections.UsernameOnlyDto;
 
 import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
-@RequiredArgsConstructor
 public class MemberController {
+    private static final int MAX_PAGE_SIZE = 2000; //application.yml max-page-size 와 동일
+
     private final MemberRepository memberRepository;
+    private final MemberQueryRepository memberQueryRepository;
+    private final MemberLookupCache memberLookupCache;
+    private final MemberChangeCounter memberChangeCounter;
+    private final ObjectMapper objectMapper;
+    private final MemberImportReader importReader;
+    private final int exportFetchSize;
+
+    public MemberController(MemberRepository memberRepository, MemberQueryRepository memberQueryRepository,
+                            MemberLookupCache memberLookupCache, MemberChangeCounter memberChangeCounter,
+                            ObjectMapper objectMapper,
+                            @Value("${datajpa.export.fetch-size:500}") int exportFetchSize) {
+        this.memberRepository = memberRepository;
+        this.memberQueryRepository = memberQueryRepository;
+        this.memberLookupCache = memberLookupCache;
+        this.memberChangeCounter = memberChangeCounter;
+        this.objectMapper = objectMapper;
+        this.importReader = new MemberImportReader(objectMapper);
+        this.exportFetchSize = exportFetchSize;
+    }
 
+    /**
+     * near-cache(MemberLookupCache) 조회 -> 변경 커밋 전까지 DB 조회 X
+     * 조건부 GET: ETag = id + version, Last-Modified = lastModifiedDate (둘 다 캐시된 스냅샷에 있음)
+     * - If-None-Match/If-Modified-Since 일치 -> 304 (DB 조회, JSON 변환 X)
+     */
     @GetMapping("/members/{id}")
-    public String findMember(@PathVariable("id") Long id) {
-        Member member = memberRepository.findById(id).get();
+    public String findMember(@PathVariable("id") Long id, WebRequest request) {
+        CachedMember member = memberLookupCache.findCachedById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "member not found"));
+        if (request.checkNotModified("member-" + id + "-" + member.getVersion(), epochMillis(member.getLastModifiedDate()))) {
+            return null; //304
+        }
         return member.getUsername();
     }
 
     /**
      * 도메인 클래스 컨버터 사용 후
      * - Member는 조회용으로만 쓰기!
+     * - 엔티티 전체(+ 스냅샷) 대신 @Projected: id -> username만 select 해서 바로 DTO로 (MemberProjectionConverter)
      */
-
     @GetMapping("/members2/{id}")
-    public String findMember2(@PathVariable("id") Member member) {
+    public String findMember2(@PathVariable("id") @Projected(cached = true) UsernameOnlyDto member) {
+        if (member == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "member not found");
+        }
         return member.getUsername();
     }
 
@@ -41,23 +98,144 @@ public class MemberController {
      *
      * @PageableDefault : 개별 설정
      * application.yml : 글로벌 설정
+     * count 전략: /members?count=CACHED (EXACT: 기본, CACHED: 캐시, ESTIMATED: 추정치)
+     * 조건부 GET: ETag = 변경 카운터(MemberChangeCounter) + max(lastModifiedDate) (인덱스) -> 변경 없으면 304 (목록/count 조회 X)
+     * - 삭제는 lastModifiedDate에 안 남음 -> 카운터로 구분 (ETag로만, Last-Modified는 그대로)
+     * - Last-Modified는 초 단위 -> 1초 안의 연속 변경은 ETag(If-None-Match)로만 구분
      */
     @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username", direction = Sort.Direction.DESC) Pageable pageable) {
+    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username", direction = Sort.Direction.DESC) Pageable pageable,
+                                @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode,
+                                WebRequest request) {
+        if (checkNotModified(request, "members", memberRepository.findLastModified())) {
+            return null; //304
+        }
         int pageSize = pageable.getPageSize();
         System.out.println("pageSize = " + pageSize);
-        Page<Member> page = memberRepository.findAll(pageable);
+        Page<Member> page = countMode == CountMode.EXACT
+                ? memberRepository.findAll(pageable)
+                : memberRepository.findMemberPage(pageable, countMode);
 
         //Page 내용 -> Dto 변환
         return page.map(MemberDto::new);
     }
 
+    /**
+     * username으로 조회: /members?username=user1
+     * - near-cache(MemberLookupCache) -> 같은 username은 변경 전까지 DB 조회 X
+     */
+    @GetMapping(value = "/members", params = "username")
+    public List<MemberDto> findByUsername(@RequestParam("username") String username) {
+        return memberLookupCache.findByUsername(username);
+    }
+
+    /**
+     * DTO 직접 조회 모드: /members?view=dto&page=0&size=3&sort=username,desc
+     * - 엔티티 대신 id, username, team.name 만 조회 -> 스냅샷 X, 팀 엔티티 로딩 X
+     * - 정렬은 Member 기준 속성 (username, id, team.name ...)
+     * - 조건부 GET: /members 와 같고 팀 이름이 있으므로 max(팀 updateDate)도 포함
+     */
+    @GetMapping(value = "/members", params = "view=dto")
+    public Page<MemberDto> listDto(@PageableDefault(size = 5, sort = "username", direction = Sort.Direction.DESC) Pageable pageable,
+                                   WebRequest request) {
+        MemberTableVersion version = memberRepository.findTableVersion();
+        if (checkNotModified(request, "members-dto", version.getLastModified(), version.getTeamLastModified())) {
+            return null; //304
+        }
+        return memberRepository.findMemberDtoPage(pageable);
+    }
+
+    /**
+     * Keyset(Seek) 페이징 - /members 와 같은 정렬(username desc) + id로 동순위 구분
+     * http://localhost:8080/members/keyset?size=3
+     * -> 응답의 nextCursor를 다음 요청에 그대로 전달: /members/keyset?size=3&cursor=...
+     * - offset이 없어서 깊은 페이지도 첫 페이지와 같은 속도
+     */
+    @GetMapping("/members/keyset")
+    public CursorPage<MemberDto> keyset(@RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "size", defaultValue = "5") int size) {
+        PageRequest pageRequest = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+
+        Slice<Member> slice;
+        if (cursor == null) {
+            slice = memberRepository.seekFirstByUsernameDesc(pageRequest);
+        } else {
+            MemberCursor last = decodeCursor(cursor);
+            slice = memberRepository.seekByUsernameDesc(last.getUsername(), last.getId(), pageRequest);
+        }
+        return CursorPage.of(slice, MemberDto::new, m -> new MemberCursor(m.getUsername(), m.getId()).encode());
+    }
+
+    //ETag = 변경 카운터 + 각 시각, Last-Modified = 가장 최근 시각
+    private boolean checkNotModified(WebRequest request, String prefix, LocalDateTime... modified) {
+        StringBuilder etag = new StringBuilder(prefix).append('-').append(memberChangeCounter.getVersion());
+        long lastModified = -1;
+        for (LocalDateTime dateTime : modified) {
+            long millis = epochMillis(dateTime);
+            etag.append('-').append(millis);
+            lastModified = Math.max(lastModified, millis);
+        }
+        return request.checkNotModified(etag.toString(), lastModified);
+    }
+
+    //Last-Modified 헤더용 (값 없으면 -1: ETag만 사용)
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private MemberCursor decodeCursor(String cursor) {
+        try {
+            return MemberCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor", e);
+        }
+    }
+
+
+    /**
+     * 대량 등록 - 요청 body를 스트리밍으로 읽으면서 JDBC batch insert
+     * curl -X POST -H 'Content-Type: text/csv' --data-binary @members.csv localhost:8080/members/import
+     * curl -X POST -H 'Content-Type: application/x-ndjson' --data-binary @members.ndjson localhost:8080/members/import
+     */
+    @PostMapping(value = "/members/import", consumes = {MemberImportReader.CSV, MemberImportReader.NDJSON})
+    public long importMembers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        return memberRepository.bulkInsert(importReader.read(contentType, body));
+    }
+
+    /**
+     * 전체 회원 내보내기 (NDJSON, chunked 전송)
+     * - 한 줄씩 쓰면서 조회 -> 회원 수와 상관없이 서버 메모리 일정
+     * curl localhost:8080/members/export
+     */
+    @GetMapping(value = "/members/export", produces = MemberImportReader.NDJSON)
+    public StreamingResponseBody export() {
+        return out -> {
+            SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE) //매 줄 flush X -> fetchSize 단위로 flush
+                    .withRootValueSeparator("\n")
+                    .writeValues(out);
+            long[] written = {0};
+            memberQueryRepository.streamAll(exportFetchSize, member -> {
+                try {
+                    writer.write(new MemberDto(member));
+                    if (++written[0] % exportFetchSize == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+    }
 
     @PostConstruct
     public void init() {
 //        memberRepository.save(new Member("userA"));
+        List<MemberImportRow> rows = new ArrayList<>();
         for (int i = 0; i < 100; i++) {
-            memberRepository.save(new Member("user" + i, i));
+            rows.add(new MemberImportRow("user" + i, i, null));
         }
+        memberRepository.bulkInsert(rows.iterator());
     }
 }
@@ -0,0 +1,91 @@
+package study.datajpa.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.dto.MemberImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 대량 등록 요청 body -> MemberImportRow 스트림 (한 줄씩 읽음, 전체를 메모리에 올리지 않음)
+ * - CSV: username,age[,teamId] (첫 줄이 정확히 헤더 "username,age[,teamId]"이면 건너뜀)
+ * - NDJSON: 한 줄에 JSON 객체 하나
+ */
+class MemberImportReader {
+    static final String CSV = "text/csv";
+    static final String NDJSON = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+
+    MemberImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    Iterator<MemberImportRow> read(String contentType, InputStream body) throws IOException {
+        if (contentType.startsWith(NDJSON)) {
+            MappingIterator<MemberImportRow> rows = objectMapper.readerFor(MemberImportRow.class).readValues(body);
+            return new Iterator<MemberImportRow>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return rows.hasNext();
+                    } catch (RuntimeException e) {
+                        throw badRequest(e.getMessage(), e);
+                    }
+                }
+
+                @Override
+                public MemberImportRow next() {
+                    try {
+                        return rows.next();
+                    } catch (RuntimeException e) {
+                        throw badRequest(e.getMessage(), e);
+                    }
+                }
+            };
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String first = reader.readLine();
+        Stream<String> lines = first == null || isHeader(first.trim())
+                ? reader.lines()
+                : Stream.concat(Stream.of(first), reader.lines());
+        return lines.map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .map(MemberImportReader::parseCsv)
+                .iterator();
+    }
+
+    static boolean isHeader(String line) {
+        String header = line.replace(" ", "");
+        return header.equals("username,age") || header.equals("username,age,teamId");
+    }
+
+    private static MemberImportRow parseCsv(String line) {
+        String[] cols = line.split(",", -1);
+        if (cols.length < 2) {
+            throw badRequest("expected username,age[,teamId]: " + line, null);
+        }
+        try {
+            Long teamId = cols.length > 2 && !cols[2].trim().isEmpty() ? Long.valueOf(cols[2].trim()) : null;
+            return new MemberImportRow(cols[0].trim(), Integer.parseInt(cols[1].trim()), teamId);
+        } catch (NumberFormatException e) {
+            throw badRequest("invalid number: " + line, e);
+        }
+    }
+
+    /**
+     * 파싱 오류는 bulkInsert 트랜잭션 안에서 발생 -> 롤백 후 400 응답
+     * (IllegalArgumentException은 리포지토리 예외 변환에 걸려서 DataAccessException으로 바뀜)
+     */
+    private static ResponseStatusException badRequest(String reason, Throwable cause) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason, cause);
+    }
+}
@@ -0,0 +1,88 @@
+package study.datajpa.controller;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import study.datajpa.cache.BoundedCache;
+import study.datajpa.cache.BoundedCacheStats;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.event.MemberChangeAware;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * @Projected 경로 변수 변환: 회원 id(String) -> Projection/DTO
+ * - memberRepository.findProjectedById(id, type): 인터페이스는 ProjectionPlanner, DTO는 Spring Data가 필요한 컬럼만 select
+ * - 엔티티/스냅샷/영속성 컨텍스트 X
+ * - cached = true: BoundedCache (크기 + TTL), 변경 커밋 후 해당 id 무효화 (벌크 -> 전체, MemberCacheInvalidator)
+ */
+@Component
+public class MemberProjectionConverter implements ConditionalGenericConverter, MemberChangeAware {
+    private final MemberRepository memberRepository;
+    private final BoundedCache<Key, Object> cache;
+
+    public MemberProjectionConverter(MemberRepository memberRepository,
+                                     @Value("${datajpa.projection-cache.max-size:1000}") int maxSize,
+                                     @Value("${datajpa.projection-cache.ttl:60s}") Duration ttl) {
+        this.memberRepository = memberRepository;
+        this.cache = new BoundedCache<>("memberProjection", maxSize, ttl);
+    }
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Collections.singleton(new ConvertiblePair(String.class, Object.class));
+    }
+
+    @Override
+    public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        return targetType.hasAnnotation(Projected.class);
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (!StringUtils.hasText((String) source)) {
+            return null;
+        }
+        Long id = Long.valueOf(((String) source).trim()); //숫자 아님 -> 변환 실패(400)
+        Class<?> type = targetType.getType();
+        Projected projected = targetType.getAnnotation(Projected.class);
+        if (!projected.cached()) {
+            return load(id, type);
+        }
+        return cache.get(new Key(type, id), () -> load(id, type));
+    }
+
+    private Object load(Long id, Class<?> type) {
+        return memberRepository.findProjectedById(id, type).orElse(null);
+    }
+
+    public BoundedCacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void memberChanged(Long id) {
+        cache.invalidateIf(key -> key.id.equals(id));
+    }
+
+    @Override
+    public void allMembersChanged() {
+        cache.clear();
+    }
+
+    @EqualsAndHashCode
+    private static final class Key {
+        private final Class<?> type;
+        private final Long id;
+
+        private Key(Class<?> type, Long id) {
+            this.type = type;
+            this.id = id;
+        }
+    }
+}
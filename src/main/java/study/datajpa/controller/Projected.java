@@ -0,0 +1,23 @@
+package study.datajpa.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 경로 변수(회원 id) -> Projection/DTO 바로 변환 (MemberProjectionConverter)
+ * - 도메인 클래스 컨버터처럼 쓰지만 엔티티 대신 필요한 컬럼만 조회
+ * - ex) @PathVariable("id") @Projected UsernameOnlyDto member
+ * - 없는 id -> null
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Projected {
+    /**
+     * true: (타입, id)별로 메모리 캐시 (회원 변경 커밋 후 무효화)
+     */
+    boolean cached() default false;
+}
@@ -0,0 +1,6 @@
+package study.datajpa.datasource;
+
+public enum DataSourceType {
+    PRIMARY, //쓰기 + 읽기
+    REPLICA  //읽기 전용 트랜잭션
+}
@@ -0,0 +1,54 @@
+package study.datajpa.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true)) -> replica, 나머지 -> primary
+ * - 트랜잭션 시작 시점에는 readOnly 여부가 아직 세팅 전이므로 반드시 LazyConnectionDataSourceProxy로 감싸서 사용!
+ *   (실제 커넥션을 첫 쿼리 실행 시점에 가져옴)
+ * - replica 지연/장애(ReplicaHealth) 시 primary로 대체
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealth replicaHealth;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealth replicaHealth) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaHealth = replicaHealth;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceType.PRIMARY, primary);
+        targets.put(DataSourceType.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaHealth.isAvailable()) {
+            return DataSourceType.REPLICA;
+        }
+        return DataSourceType.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == DataSourceType.REPLICA) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicaHealth.markDown(e); //다음 health check까지 primary 사용
+            }
+        }
+        return primary.getConnection();
+    }
+}
@@ -0,0 +1,66 @@
+package study.datajpa.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * replica 사용 가능 여부 (주기적으로 복제 지연 측정)
+ * - 지연 > maxLag 또는 연결 실패 -> 사용 불가 -> 읽기도 primary로
+ * - 다음 측정에서 정상이면 다시 replica 사용
+ */
+@Slf4j
+public class ReplicaHealth {
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+
+    private volatile boolean available = true;
+    private volatile long lagMillis;
+
+    public ReplicaHealth(DataSource replica, String lagQuery, long maxLagMillis) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${datajpa.datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        try (Connection con = replica.getConnection();
+             Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery(lagQuery)) {
+            record(rs.next() ? rs.getLong(1) : 0);
+        } catch (SQLException e) {
+            markDown(e);
+        }
+    }
+
+    void record(long lagMillis) {
+        this.lagMillis = lagMillis;
+        boolean ok = lagMillis <= maxLagMillis;
+        if (available != ok) {
+            log.warn("replica {} (lag={}ms, maxLag={}ms)", ok ? "available" : "lagging -> primary", lagMillis, maxLagMillis);
+        }
+        available = ok;
+    }
+
+    void markDown(SQLException e) {
+        if (available) {
+            log.warn("replica unavailable -> primary: {}", e.getMessage());
+        }
+        available = false;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
@@ -0,0 +1,29 @@
+package study.datajpa.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * datajpa.datasource.replica.* (url 설정 시에만 읽기/쓰기 분리 활성화)
+ * - 커넥션 풀 설정: datajpa.datasource.replica.hikari.*
+ */
+@Getter
+@Setter
+public class ReplicaProperties {
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+    /**
+     * 이 값보다 복제 지연이 크면 읽기도 primary로 보냄
+     */
+    private Duration maxLag = Duration.ofSeconds(1);
+    /**
+     * replica에서 실행해서 복제 지연(ms)을 구하는 쿼리
+     * ex) PostgreSQL: select coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+     * 기본값은 지연 측정 없이 연결 상태만 확인
+     */
+    private String lagQuery = "select 0";
+}
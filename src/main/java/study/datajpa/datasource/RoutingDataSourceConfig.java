@@ -0,0 +1,72 @@
+package study.datajpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기/쓰기 DataSource 분리
+ * - primary: spring.datasource.* (+ spring.datasource.hikari.*)
+ * - replica: datajpa.datasource.replica.* (+ datajpa.datasource.replica.hikari.*)
+ * - datajpa.datasource.replica.url 없으면 이 설정은 동작 X (기존처럼 단일 DataSource)
+ * - p6spy 로그가 두 번 찍히지 않게: decorator.datasource.exclude-beans=primaryDataSource,replicaDataSource
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datajpa.datasource.replica", name = "url")
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datajpa.datasource.replica")
+    public ReplicaProperties replicaProperties() {
+        return new ReplicaProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("datajpa.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaProperties replica) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword());
+        if (StringUtils.hasText(replica.getDriverClassName())) {
+            builder.driverClassName(replica.getDriverClassName());
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealth replicaHealth(@Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                       ReplicaProperties replica) {
+        return new ReplicaHealth(replicaDataSource, replica.getLagQuery(), replica.getMaxLag().toMillis());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                 ReplicaHealth replicaHealth) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaHealth));
+    }
+}
@@ -0,0 +1,107 @@
+package study.datajpa.datasource.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 커넥션 풀 크기 자동 조절 (datajpa.pool.adaptive.enabled=true)
+ * - 주기마다 구간 값(PoolWindow)으로 maximumPoolSize를 step씩 조절 (min-size ~ max-size)
+ * - 늘림: acquire 대기 평균 > target-wait 또는 timeout 발생, 단 DB 응답(커넥션 점유 시간)이 평소의 2배 이상이면 유지
+ *   -> DB가 병목이면 커넥션을 늘려도 대기 위치만 DB로 옮겨짐
+ * - 줄임: 대기 없음 + 구간 최대 active <= 현재 크기 절반
+ * - 평소 DB 응답(baseline) = 대기 없던 구간의 점유 시간 지수 이동 평균
+ * - 줄인 크기는 남는 커넥션이 maxLifetime으로 교체될 때 반영됨
+ * - minimumIdle은 maximumPoolSize를 넘지 않게 같이 조절, 다시 늘리면 설정값까지 복구
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "datajpa.pool.adaptive", name = "enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+    private static final double BASELINE_WEIGHT = 0.2;
+    private static final double SLOW_FACTOR = 2.0;
+
+    private final PoolMetrics poolMetrics;
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final double targetWaitMillis;
+    private final Map<String, Double> baselines = new ConcurrentHashMap<>();
+    private final Map<String, Integer> configuredMinIdle = new ConcurrentHashMap<>(); //처음 조절 전 minimumIdle
+
+    public AdaptivePoolSizer(PoolMetrics poolMetrics,
+                             @Value("${datajpa.pool.adaptive.min-size:5}") int minSize,
+                             @Value("${datajpa.pool.adaptive.max-size:30}") int maxSize,
+                             @Value("${datajpa.pool.adaptive.step:2}") int step,
+                             @Value("${datajpa.pool.adaptive.target-wait-ms:5}") double targetWaitMillis) {
+        this.poolMetrics = poolMetrics;
+        this.minSize = minSize;
+        this.maxSize = Math.max(minSize, maxSize);
+        this.step = Math.max(1, step);
+        this.targetWaitMillis = targetWaitMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${datajpa.pool.adaptive.interval-ms:10000}")
+    public void resize() {
+        for (HikariDataSource dataSource : poolMetrics.startedDataSources()) {
+            poolMetrics.tracker(dataSource.getPoolName()).ifPresent(tracker -> resize(dataSource, tracker));
+        }
+    }
+
+    private void resize(HikariDataSource dataSource, PoolMetricsTracker tracker) {
+        tracker.decided(resize(tracker.getPoolName(), dataSource.getHikariConfigMXBean(), tracker.drainWindow()));
+    }
+
+    PoolSizeDecision resize(String pool, HikariConfigMXBean config, PoolWindow window) {
+        int current = config.getMaximumPoolSize();
+        int minIdle = configuredMinIdle.computeIfAbsent(pool, name -> config.getMinimumIdle());
+        PoolSizeDecision decision = decide(pool, current, window);
+        if (decision.getSize() != current) {
+            //줄일 때는 max보다 먼저, 늘릴 때는 max 다음에 (minimumIdle > maximumPoolSize 상태 X)
+            if (decision.getSize() > current) {
+                config.setMaximumPoolSize(decision.getSize());
+            }
+            config.setMinimumIdle(Math.min(minIdle, decision.getSize()));
+            if (decision.getSize() < current) {
+                config.setMaximumPoolSize(decision.getSize());
+            }
+            log.info("pool {} maximumPoolSize {} -> {} ({})", pool, current, decision.getSize(), decision.getReason());
+        }
+        return decision;
+    }
+
+    PoolSizeDecision decide(String pool, int current, PoolWindow window) {
+        double usage = window.getMeanUsageMillis();
+        double baseline = baselines.getOrDefault(pool, usage);
+        boolean waiting = window.getTimeouts() > 0 || window.getMeanAcquireMillis() > targetWaitMillis;
+        boolean dbSlow = baseline > 0 && usage > baseline * SLOW_FACTOR;
+
+        int size = current;
+        String reason;
+        if (waiting && dbSlow) {
+            reason = "keep: waiting but db slow";
+        } else if (waiting) {
+            size = current + step;
+            reason = "grow: waiting";
+        } else if (window.getPending() == 0 && window.getPeakActive() <= current / 2) {
+            size = current - step;
+            reason = "shrink: peak active " + window.getPeakActive();
+        } else {
+            reason = "keep";
+        }
+        if (!waiting && window.getAcquires() > 0) {
+            baselines.put(pool, baseline + (usage - baseline) * BASELINE_WEIGHT);
+        }
+        size = Math.max(minSize, Math.min(maxSize, size));
+        return new PoolSizeDecision(LocalDateTime.now(), current, size, reason,
+                window.getMeanAcquireMillis(), usage, baselines.getOrDefault(pool, 0.0));
+    }
+}
@@ -0,0 +1,34 @@
+package study.datajpa.datasource.pool;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청마다 커넥션 점유 시간 합산 -> 엔드포인트(HTTP 메서드 + URL 패턴)별 기록
+ * - ex) "GET /members/{id}" (id 값마다 따로 쌓이지 않게 패턴 사용)
+ */
+public class ConnectionHoldFilter extends OncePerRequestFilter {
+    private final ConnectionHolds holds;
+
+    public ConnectionHoldFilter(ConnectionHolds holds) {
+        this.holds = holds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        holds.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            holds.finish(request.getMethod() + " " + (pattern != null ? pattern : "unmapped"));
+        }
+    }
+}
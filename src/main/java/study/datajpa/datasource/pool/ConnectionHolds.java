@@ -0,0 +1,82 @@
+package study.datajpa.datasource.pool;
+
+import study.datajpa.diagnostics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 커넥션 점유 시간
+ * - 요청 동안 반납된 커넥션 점유 시간을 스레드별로 합산 (ConnectionHoldFilter가 시작/종료)
+ * - 요청이 끝나면 엔드포인트(HTTP 메서드 + URL 패턴) 히스토그램에 요청당 합계 기록
+ * - 비동기 응답(StreamingResponseBody 등) 스레드에서 반납된 커넥션은 집계 X
+ */
+public class ConnectionHolds {
+    private static final int MAX_ENDPOINTS = 200; //넘으면 "other"로 (매칭 안 된 URL이 많아도 메모리 일정)
+
+    private final ThreadLocal<RequestHold> current = new ThreadLocal<>();
+    private final Map<String, EndpointHold> endpoints = new ConcurrentHashMap<>();
+
+    void start() {
+        current.set(new RequestHold());
+    }
+
+    void finish(String endpoint) {
+        RequestHold hold = current.get();
+        current.remove();
+        if (hold == null) {
+            return;
+        }
+        String key = endpoints.size() >= MAX_ENDPOINTS && !endpoints.containsKey(endpoint) ? "other" : endpoint;
+        endpoints.computeIfAbsent(key, EndpointHold::new).record(hold);
+    }
+
+    void record(long nanos) {
+        RequestHold hold = current.get();
+        if (hold != null) {
+            hold.nanos += nanos;
+            hold.connections++;
+        }
+    }
+
+    /**
+     * 누적 점유 시간 큰 순서
+     */
+    public List<EndpointHoldSnapshot> snapshot() {
+        List<EndpointHoldSnapshot> result = new ArrayList<>();
+        for (EndpointHold hold : endpoints.values()) {
+            result.add(hold.snapshot());
+        }
+        result.sort(Comparator.comparingLong(EndpointHoldSnapshot::getTotalMicros).reversed());
+        return result;
+    }
+
+    private static class RequestHold {
+        private long nanos;
+        private int connections;
+    }
+
+    private static class EndpointHold {
+        private final String endpoint;
+        private final LatencyHistogram hold = new LatencyHistogram();
+        private final LongAdder connections = new LongAdder();
+
+        private EndpointHold(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void record(RequestHold request) {
+            hold.record(request.nanos);
+            connections.add(request.connections);
+        }
+
+        private EndpointHoldSnapshot snapshot() {
+            return new EndpointHoldSnapshot(endpoint, hold.getCount(), connections.sum(), hold.getTotalNanos(),
+                    hold.percentile(0.5), hold.percentile(0.99), hold.getMaxNanos());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.datasource.pool;
+
+import lombok.Getter;
+
+/**
+ * 엔드포인트별 요청당 커넥션 점유 시간 (시간 단위: 마이크로초)
+ */
+@Getter
+public class EndpointHoldSnapshot {
+    private final String endpoint;
+    private final long requests;
+    private final long connections;
+    private final long totalMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+
+    public EndpointHoldSnapshot(String endpoint, long requests, long connections, long totalNanos,
+                                long p50Nanos, long p99Nanos, long maxNanos) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.connections = connections;
+        this.totalMicros = totalNanos / 1_000;
+        this.p50Micros = p50Nanos / 1_000;
+        this.p99Micros = p99Nanos / 1_000;
+        this.maxMicros = maxNanos / 1_000;
+    }
+
+    public double getConnectionsPerRequest() {
+        return requests == 0 ? 0 : (double) connections / requests;
+    }
+}
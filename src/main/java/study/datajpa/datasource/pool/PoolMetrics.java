@@ -0,0 +1,68 @@
+package study.datajpa.datasource.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hikari 커넥션 풀 측정 저장소 (PoolMetricsConfig가 모든 HikariDataSource에 등록)
+ * - 풀마다 PoolMetricsTracker 하나 (primary/replica 분리 시 2개)
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+    private final Map<String, PoolMetricsTracker> trackers = new ConcurrentHashMap<>();
+    private final List<HikariDataSource> dataSources = new CopyOnWriteArrayList<>();
+    private final ConnectionHolds holds = new ConnectionHolds();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolMetricsTracker tracker = new PoolMetricsTracker(poolName, poolStats, holds);
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    void register(HikariDataSource dataSource) {
+        dataSource.setMetricsTrackerFactory(this);
+        dataSources.add(dataSource);
+    }
+
+    /**
+     * 이미 시작된 풀 (처음 getConnection() 전에는 tracker 없음)
+     */
+    List<HikariDataSource> startedDataSources() {
+        List<HikariDataSource> started = new ArrayList<>();
+        for (HikariDataSource dataSource : dataSources) {
+            if (dataSource.getPoolName() != null && trackers.containsKey(dataSource.getPoolName())) {
+                started.add(dataSource);
+            }
+        }
+        return started;
+    }
+
+    Optional<PoolMetricsTracker> tracker(String poolName) {
+        return Optional.ofNullable(trackers.get(poolName));
+    }
+
+    ConnectionHolds holds() {
+        return holds;
+    }
+
+    public List<PoolSnapshot> pools() {
+        List<PoolSnapshot> result = new ArrayList<>();
+        for (PoolMetricsTracker tracker : trackers.values()) {
+            result.add(tracker.snapshot());
+        }
+        return result;
+    }
+
+    public List<EndpointHoldSnapshot> endpoints() {
+        return holds.snapshot();
+    }
+}
@@ -0,0 +1,40 @@
+package study.datajpa.datasource.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 모든 HikariDataSource(기본 DataSource, primary/replica)에 PoolMetrics 등록
+ */
+@Configuration
+public class PoolMetricsConfig {
+
+    @Bean
+    public PoolMetrics poolMetrics() {
+        return new PoolMetrics();
+    }
+
+    /**
+     * 풀이 시작되면(처음 getConnection()) MetricsTrackerFactory 변경 불가 -> 빈 초기화 전에 등록
+     */
+    @Bean
+    public static BeanPostProcessor poolMetricsPostProcessor(ObjectProvider<PoolMetrics> poolMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    poolMetrics.getObject().register((HikariDataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ConnectionHoldFilter connectionHoldFilter(PoolMetrics poolMetrics) {
+        return new ConnectionHoldFilter(poolMetrics.holds());
+    }
+}
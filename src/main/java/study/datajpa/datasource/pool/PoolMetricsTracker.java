@@ -0,0 +1,106 @@
+package study.datajpa.datasource.pool;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import study.datajpa.diagnostics.LatencyHistogram;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커넥션 풀 하나의 측정값 (Hikari가 호출)
+ * - acquire: getConnection() 대기 시간, usage: 빌려간 뒤 반납까지 (= 커넥션 점유 시간)
+ * - usage는 직접 ns로 측정: 빌려갈 때(recordConnectionAcquiredNanos) 시각을 스레드별 스택에 쌓고 반납할 때 꺼냄
+ *   Hikari가 주는 값은 ms 단위 -> 짧은 점유는 0이 됨, 다른 스레드에서 반납된 커넥션에만 사용
+ * - 누적 히스토그램 + 구간(window) 합계 (AdaptivePoolSizer가 주기마다 가져가고 초기화)
+ */
+public class PoolMetricsTracker implements IMetricsTracker {
+    private static final int MAX_BORROWED = 64; //반납 안 된 커넥션이 쌓여도 메모리 일정
+
+    private final String poolName;
+    private final PoolStats poolStats;
+    private final ConnectionHolds holds;
+
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder windowAcquireNanos = new LongAdder();
+    private final LongAdder windowAcquires = new LongAdder();
+    private final LongAdder windowUsageNanos = new LongAdder();
+    private final LongAdder windowUsages = new LongAdder();
+    private final LongAdder windowTimeouts = new LongAdder();
+    private final LongAccumulator windowPeakActive = new LongAccumulator(Math::max, 0);
+
+    private final ThreadLocal<Deque<Long>> borrowed = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private volatile PoolSizeDecision lastDecision;
+
+    PoolMetricsTracker(String poolName, PoolStats poolStats, ConnectionHolds holds) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        this.holds = holds;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        Deque<Long> stack = borrowed.get();
+        if (stack.size() >= MAX_BORROWED) {
+            stack.clear();
+        }
+        stack.push(System.nanoTime());
+        acquire.record(elapsedAcquiredNanos);
+        windowAcquireNanos.add(elapsedAcquiredNanos);
+        windowAcquires.increment();
+        windowPeakActive.accumulate(poolStats.getActiveConnections()); //PoolStats는 1초 동안 값 재사용 -> 매번 집계 X
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        Long borrowedAt = borrowed.get().poll();
+        long nanos = borrowedAt != null ? System.nanoTime() - borrowedAt : elapsedBorrowedMillis * 1_000_000;
+        usage.record(nanos);
+        windowUsageNanos.add(nanos);
+        windowUsages.increment();
+        holds.record(nanos); //반납하는 스레드 = 요청 스레드 -> 엔드포인트별 점유 시간
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+        windowTimeouts.increment();
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * 지난 호출 이후 구간 값 (가져가면서 초기화)
+     */
+    PoolWindow drainWindow() {
+        long acquires = windowAcquires.sumThenReset();
+        long acquireNanos = windowAcquireNanos.sumThenReset();
+        long usages = windowUsages.sumThenReset();
+        long usageNanos = windowUsageNanos.sumThenReset();
+        return new PoolWindow(acquires,
+                acquires == 0 ? 0 : acquireNanos / acquires / 1_000_000.0,
+                usages == 0 ? 0 : usageNanos / usages / 1_000_000.0,
+                windowTimeouts.sumThenReset(),
+                (int) windowPeakActive.getThenReset(),
+                poolStats.getPendingThreads());
+    }
+
+    void decided(PoolSizeDecision decision) {
+        this.lastDecision = decision;
+    }
+
+    public PoolSnapshot snapshot() {
+        return new PoolSnapshot(poolName, poolStats.getActiveConnections(), poolStats.getIdleConnections(),
+                poolStats.getPendingThreads(), poolStats.getTotalConnections(), poolStats.getMaxConnections(),
+                acquire.getCount(), acquire.percentile(0.5), acquire.percentile(0.99), acquire.getMaxNanos(),
+                usage.percentile(0.5), usage.percentile(0.99), usage.getMaxNanos(), timeouts.sum(), lastDecision);
+    }
+}
@@ -0,0 +1,30 @@
+package study.datajpa.datasource.pool;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * AdaptivePoolSizer의 마지막 판단 (크기를 안 바꿨어도 기록)
+ */
+@Getter
+public class PoolSizeDecision {
+    private final LocalDateTime decidedAt;
+    private final int previousSize;
+    private final int size;
+    private final String reason;
+    private final double meanAcquireMillis;
+    private final double meanUsageMillis;
+    private final double baselineUsageMillis;
+
+    PoolSizeDecision(LocalDateTime decidedAt, int previousSize, int size, String reason,
+                     double meanAcquireMillis, double meanUsageMillis, double baselineUsageMillis) {
+        this.decidedAt = decidedAt;
+        this.previousSize = previousSize;
+        this.size = size;
+        this.reason = reason;
+        this.meanAcquireMillis = meanAcquireMillis;
+        this.meanUsageMillis = meanUsageMillis;
+        this.baselineUsageMillis = baselineUsageMillis;
+    }
+}
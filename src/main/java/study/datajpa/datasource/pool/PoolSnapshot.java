@@ -0,0 +1,47 @@
+package study.datajpa.datasource.pool;
+
+import lombok.Getter;
+
+/**
+ * 커넥션 풀 상태 스냅샷 (시간 단위: 마이크로초)
+ * - active/idle/pending: 현재 값, acquire/usage: 시작 후 누적
+ */
+@Getter
+public class PoolSnapshot {
+    private final String pool;
+    private final int active;
+    private final int idle;
+    private final int pending;
+    private final int total;
+    private final int maxSize;
+    private final long acquires;
+    private final long acquireP50Micros;
+    private final long acquireP99Micros;
+    private final long acquireMaxMicros;
+    private final long usageP50Micros;
+    private final long usageP99Micros;
+    private final long usageMaxMicros;
+    private final long timeouts;
+    private final PoolSizeDecision lastDecision;
+
+    public PoolSnapshot(String pool, int active, int idle, int pending, int total, int maxSize,
+                        long acquires, long acquireP50Nanos, long acquireP99Nanos, long acquireMaxNanos,
+                        long usageP50Nanos, long usageP99Nanos, long usageMaxNanos, long timeouts,
+                        PoolSizeDecision lastDecision) {
+        this.pool = pool;
+        this.active = active;
+        this.idle = idle;
+        this.pending = pending;
+        this.total = total;
+        this.maxSize = maxSize;
+        this.acquires = acquires;
+        this.acquireP50Micros = acquireP50Nanos / 1_000;
+        this.acquireP99Micros = acquireP99Nanos / 1_000;
+        this.acquireMaxMicros = acquireMaxNanos / 1_000;
+        this.usageP50Micros = usageP50Nanos / 1_000;
+        this.usageP99Micros = usageP99Nanos / 1_000;
+        this.usageMaxMicros = usageMaxNanos / 1_000;
+        this.timeouts = timeouts;
+        this.lastDecision = lastDecision;
+    }
+}
@@ -0,0 +1,25 @@
+package study.datajpa.datasource.pool;
+
+import lombok.Getter;
+
+/**
+ * 한 측정 구간의 풀 사용량 (AdaptivePoolSizer 판단 근거)
+ */
+@Getter
+class PoolWindow {
+    private final long acquires;
+    private final double meanAcquireMillis;
+    private final double meanUsageMillis;
+    private final long timeouts;
+    private final int peakActive;
+    private final int pending;
+
+    PoolWindow(long acquires, double meanAcquireMillis, double meanUsageMillis, long timeouts, int peakActive, int pending) {
+        this.acquires = acquires;
+        this.meanAcquireMillis = meanAcquireMillis;
+        this.meanUsageMillis = meanUsageMillis;
+        this.timeouts = timeouts;
+        this.peakActive = peakActive;
+        this.pending = pending;
+    }
+}
@@ -0,0 +1,28 @@
+package study.datajpa.diagnostics;
+
+import lombok.Getter;
+
+/**
+ * 연관관계(엔티티 프록시 / 컬렉션) 지연 로딩 통계
+ * - fetchCount: 지연 로딩으로 DB에 간 횟수 (배치 조회는 한 번)
+ * - loadCount: 그 조회들로 로딩된 엔티티/컬렉션 수 (쿼리, 페치 조인으로 로딩된 것은 제외)
+ * - roundTripsSaved: loadCount - fetchCount (배치가 없었다면 더 필요했을 조회 수)
+ */
+@Getter
+public class AssociationFetchStats {
+    private final String name;
+    private final String kind;
+    private final long fetchCount;
+    private final long loadCount;
+
+    public AssociationFetchStats(String name, String kind, long fetchCount, long loadCount) {
+        this.name = name;
+        this.kind = kind;
+        this.fetchCount = fetchCount;
+        this.loadCount = loadCount;
+    }
+
+    public long getRoundTripsSaved() {
+        return Math.max(0, loadCount - fetchCount);
+    }
+}
@@ -0,0 +1,140 @@
+package study.datajpa.diagnostics;
+
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 로딩 배치 조회 효과 (Hibernate 이벤트 리스너, BatchFetchIntegrator가 등록)
+ * - 엔티티: 프록시 초기화(IMMEDIATE_LOAD) 한 번에 같은 엔티티가 몇 개 로딩됐나 (PostLoad 수)
+ * - 컬렉션: 컬렉션 초기화 한 번에 같은 role 컬렉션이 몇 개 초기화되나 (BatchFetchQueue에서 함께 조회될 키 수, 로더와 같은 계산)
+ * - 쿼리/페치 조인으로 로딩된 엔티티는 세지 않음 -> 절약한 조회 수 = 배치로 함께 로딩된 수
+ * - 2차 캐시가 있는 컬렉션은 DB 조회 여부를 알 수 없어서 제외
+ */
+@Component
+public class BatchFetchStatistics implements PostLoadEventListener, InitializeCollectionEventListener {
+    private static final ThreadLocal<Deque<Fetch>> FETCHES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final Map<String, Counter> entities = new ConcurrentHashMap<>();
+    private final Map<String, Counter> collections = new ConcurrentHashMap<>();
+
+    /**
+     * LOAD 이벤트 맨 앞: 프록시 초기화 시작
+     */
+    public LoadEventListener beforeLoad() {
+        return (event, loadType) -> {
+            if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+                FETCHES.get().push(new Fetch(event, event.getEntityClassName()));
+            }
+        };
+    }
+
+    /**
+     * LOAD 이벤트 맨 뒤: 그동안 로딩된 같은 엔티티 수 기록 (0이면 이미 로딩돼 있었음 -> DB 조회 X)
+     */
+    public LoadEventListener afterLoad() {
+        return (event, loadType) -> {
+            if (loadType != LoadEventListener.IMMEDIATE_LOAD) {
+                return;
+            }
+            Deque<Fetch> fetches = FETCHES.get();
+            while (!fetches.isEmpty()) {
+                Fetch fetch = fetches.pop(); //예외로 남은 이전 항목은 버림
+                if (fetch.event == event) {
+                    if (fetch.loaded > 0) {
+                        entities.computeIfAbsent(fetch.entityName, name -> new Counter()).record(fetch.loaded);
+                    }
+                    return;
+                }
+            }
+        };
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Fetch fetch = FETCHES.get().peek();
+        if (fetch != null && event.getPersister() != null
+                && fetch.entityName.equals(event.getPersister().getEntityName())) {
+            fetch.loaded++;
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        PersistentCollection collection = event.getCollection();
+        EventSource session = event.getSession();
+        CollectionEntry entry = session.getPersistenceContext().getCollectionEntry(collection);
+        if (collection.wasInitialized() || entry == null || entry.getLoadedPersister() == null) {
+            return;
+        }
+        CollectionPersister persister = entry.getLoadedPersister();
+        if (persister.hasCache()) {
+            return;
+        }
+        int loaded = 1;
+        if (persister.getBatchSize() > 1) {
+            loaded = 0;
+            for (Serializable key : session.getPersistenceContext().getBatchFetchQueue()
+                    .getCollectionBatch(persister, entry.getLoadedKey(), persister.getBatchSize())) {
+                if (key != null) {
+                    loaded++;
+                }
+            }
+        }
+        collections.computeIfAbsent(persister.getRole(), role -> new Counter()).record(Math.max(1, loaded));
+    }
+
+    /**
+     * 지연 로딩이 한 번이라도 일어난 엔티티/컬렉션만, 절약한 조회 수 큰 순서
+     */
+    public List<AssociationFetchStats> associations() {
+        List<AssociationFetchStats> result = new ArrayList<>();
+        entities.forEach((name, counter) -> result.add(counter.snapshot(name, "entity")));
+        collections.forEach((role, counter) -> result.add(counter.snapshot(role, "collection")));
+        result.sort(Comparator.comparingLong(AssociationFetchStats::getRoundTripsSaved).reversed());
+        return result;
+    }
+
+    private static class Fetch {
+        private final LoadEvent event;
+        private final String entityName;
+        private int loaded;
+
+        private Fetch(LoadEvent event, String entityName) {
+            this.event = event;
+            this.entityName = entityName;
+        }
+    }
+
+    private static class Counter {
+        private final LongAdder fetches = new LongAdder();
+        private final LongAdder loaded = new LongAdder();
+
+        private void record(int count) {
+            fetches.increment();
+            loaded.add(count);
+        }
+
+        private AssociationFetchStats snapshot(String name, String kind) {
+            return new AssociationFetchStats(name, kind, fetches.sum(), loaded.sum());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.diagnostics;
+
+import lombok.Getter;
+
+/**
+ * 2차 캐시 region 통계
+ * - evictionCount: 용량 초과/만료로 캐시가 버린 개수 (JCache 통계, 모르면 -1)
+ */
+@Getter
+public class CacheRegionStats {
+    private final String region;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long evictionCount;
+    private final long elementCount;
+
+    public CacheRegionStats(String region, long hitCount, long missCount, long putCount,
+                            long evictionCount, long elementCount) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.evictionCount = evictionCount;
+        this.elementCount = elementCount;
+    }
+
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,67 @@
+package study.datajpa.diagnostics;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 2차 캐시/쿼리 캐시 통계 조회
+ * - hit/miss/put: Hibernate Statistics (hibernate.generate_statistics=true 필요)
+ * - eviction: Hibernate는 안 세므로 JCache 통계 MBean(CacheEvictions)에서 조회 (ehcache.xml enable-statistics)
+ */
+@Component
+public class CacheStatistics {
+    private final Statistics statistics;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public CacheStatistics(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStats> regions() {
+        List<CacheRegionStats> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = regionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            result.add(new CacheRegionStats(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                    evictions(region), stats.getElementCountInMemory()));
+        }
+        return result;
+    }
+
+    /**
+     * 엔티티/쿼리 결과 region 통계 (update-timestamps region 등 통계 없는 region은 null)
+     */
+    private CacheRegionStatistics regionStatistics(String region) {
+        try {
+            return statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private long evictions(String region) {
+        try {
+            Set<ObjectName> names = mBeanServer.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null);
+            long evictions = 0;
+            for (ObjectName name : names) {
+                evictions += ((Number) mBeanServer.getAttribute(name, "CacheEvictions")).longValue();
+            }
+            return names.isEmpty() ? -1 : evictions;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
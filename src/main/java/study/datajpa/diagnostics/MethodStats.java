@@ -0,0 +1,33 @@
+package study.datajpa.diagnostics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 리포지토리 메서드 하나의 호출 통계
+ */
+public class MethodStats {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    public MethodStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos, long rowCount, boolean error) {
+        latency.record(nanos);
+        if (error) {
+            errors.increment();
+        }
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    public MethodStatsSnapshot snapshot() {
+        return new MethodStatsSnapshot(name, latency.getCount(), errors.sum(), rows.sum(),
+                latency.getTotalNanos(), latency.getMeanNanos(),
+                latency.percentile(0.5), latency.percentile(0.99), latency.percentile(0.999), latency.getMaxNanos());
+    }
+}
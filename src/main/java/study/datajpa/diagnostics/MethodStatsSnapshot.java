@@ -0,0 +1,42 @@
+package study.datajpa.diagnostics;
+
+import lombok.Getter;
+
+/**
+ * 메서드 통계 스냅샷 (시간 단위: 마이크로초)
+ */
+@Getter
+public class MethodStatsSnapshot {
+    private final String method;
+    private final long calls;
+    private final long errors;
+    private final long rows;
+    private final long totalMicros;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+
+    public MethodStatsSnapshot(String method, long calls, long errors, long rows, long totalNanos, long meanNanos,
+                               long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        this.method = method;
+        this.calls = calls;
+        this.errors = errors;
+        this.rows = rows;
+        this.totalMicros = totalNanos / 1_000;
+        this.meanMicros = meanNanos / 1_000;
+        this.p50Micros = p50Nanos / 1_000;
+        this.p99Micros = p99Nanos / 1_000;
+        this.p999Micros = p999Nanos / 1_000;
+        this.maxMicros = maxNanos / 1_000;
+    }
+
+    public double getErrorRate() {
+        return calls == 0 ? 0 : (double) errors / calls;
+    }
+
+    public double getRowsPerCall() {
+        return calls == 0 ? 0 : (double) rows / calls;
+    }
+}
@@ -0,0 +1,90 @@
+package study.datajpa.diagnostics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 요청/테스트 동안 실행된 SQL 통계
+ * - Hibernate SQL은 파라미터가 ?로 바인딩됨 -> 파라미터만 다른 같은 SQL = 같은 문자열
+ * - 같은 SQL이 두 번째 실행될 때 호출 위치(study.datajpa 코드) 기록 -> N+1 발생 위치 찾기
+ */
+public class QueryCount {
+    private static final String APP_PACKAGE = "study.datajpa.";
+    private static final String SELF_PACKAGE = QueryCount.class.getPackage().getName() + ".";
+
+    private final Map<String, Statement> statements = new LinkedHashMap<>();
+    private int total;
+
+    void record(String sql) {
+        total++;
+        Statement statement = statements.computeIfAbsent(sql, Statement::new);
+        statement.count++;
+        if (statement.count == 2) {
+            statement.callSite = callSite();
+        }
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * fragment(소문자)가 들어간 SQL 실행 수
+     */
+    public int countContaining(String fragment) {
+        int count = 0;
+        for (Statement statement : statements.values()) {
+            if (statement.sql.toLowerCase().contains(fragment)) {
+                count += statement.count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * threshold번 이상 반복 실행된 SQL (N+1 의심)
+     */
+    public List<RepeatedStatement> repeated(int threshold) {
+        List<RepeatedStatement> result = new ArrayList<>();
+        for (Statement statement : statements.values()) {
+            if (statement.count >= threshold) {
+                result.add(new RepeatedStatement(statement.sql, statement.count, statement.callSite));
+            }
+        }
+        return result;
+    }
+
+    public String describe() {
+        StringBuilder sb = new StringBuilder("total queries = ").append(total);
+        for (Statement statement : statements.values()) {
+            sb.append(System.lineSeparator()).append("  [").append(statement.count).append("x] ").append(statement.sql);
+            if (statement.callSite != null) {
+                sb.append(System.lineSeparator()).append("      at ").append(statement.callSite);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String callSite() {
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(APP_PACKAGE) && !className.startsWith(SELF_PACKAGE)
+                    && !className.contains("$$") && !className.contains("$HibernateProxy$")) { //프록시 말고 실제 호출 코드
+                return frame.toString();
+            }
+        }
+        return "unknown";
+    }
+
+    private static class Statement {
+        private final String sql;
+        private int count;
+        private String callSite;
+
+        private Statement(String sql) {
+            this.sql = sql;
+        }
+    }
+}
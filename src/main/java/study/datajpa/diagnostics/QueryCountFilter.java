@@ -0,0 +1,45 @@
+package study.datajpa.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * HTTP 요청마다 SQL 수 세기
+ * - 같은 SQL이 threshold번 이상 반복되면 N+1 의심 -> SQL과 호출 위치 warn 로그
+ */
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+    private final int threshold;
+
+    public QueryCountFilter(@Value("${datajpa.diagnostics.n-plus-one-threshold:3}") int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCount count = QueryCounter.stop();
+            List<RepeatedStatement> repeated = count.repeated(threshold);
+            if (!repeated.isEmpty()) {
+                log.warn("N+1 suspected: {} {}{}{}", request.getMethod(), request.getRequestURI(),
+                        System.lineSeparator(), count.describe());
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} {} -> {} queries", request.getMethod(), request.getRequestURI(), count.getTotal());
+            }
+        }
+    }
+}
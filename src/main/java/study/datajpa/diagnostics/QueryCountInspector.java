@@ -0,0 +1,15 @@
+package study.datajpa.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate가 실행하는 모든 SQL을 가로채서 QueryCounter에 기록 (SQL은 그대로 반환)
+ * - 설정: spring.jpa.properties.hibernate.session_factory.statement_inspector
+ */
+public class QueryCountInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.diagnostics;
+
+/**
+ * 현재 스레드(요청/테스트)에서 실행된 SQL 수집
+ * - start() ~ stop() 사이에 Hibernate가 실행한 SQL을 QueryCount에 기록 (QueryCountInspector)
+ * - start() 안 했으면 기록 X (비용 없음)
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static QueryCount start() {
+        QueryCount count = new QueryCount();
+        CURRENT.set(count);
+        return count;
+    }
+
+    public static QueryCount stop() {
+        QueryCount count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? new QueryCount() : count;
+    }
+
+    static void record(String sql) {
+        QueryCount count = CURRENT.get();
+        if (count != null) {
+            count.record(sql);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package study.datajpa.diagnostics;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 느린 실행 한 건 (파라미터 값이 들어간 SQL)
+ */
+@Getter
+public class QuerySample {
+    private final long elapsedMicros;
+    private final String sql;
+    private final LocalDateTime executedAt;
+
+    public QuerySample(long elapsedNanos, String sql, LocalDateTime executedAt) {
+        this.elapsedMicros = elapsedNanos / 1_000;
+        this.sql = sql;
+        this.executedAt = executedAt;
+    }
+}
@@ -0,0 +1,123 @@
+package study.datajpa.diagnostics;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * p6spy 실행 이벤트 -> SQL 지문(SqlNormalizer)별 실행 수/누적 시간/p99 + 느린 실행 샘플
+ * - p6spy-spring-boot-starter가 JdbcEventListener 빈을 자동 등록
+ * - 지문 수 제한(max-fingerprints): Space-Saving -> 가중치(누적 시간 + 물려받은 값)가 가장 작은 지문을 버리고
+ *   새 지문이 그 가중치를 물려받음 -> 새 지문이 매번 꼴찌로 바로 밀려나지 않음 (자주/오래 실행되는 SQL은 남음)
+ * - 정규화 결과는 원본 SQL별로 캐시 (PreparedStatement SQL은 종류가 한정적)
+ */
+@Component
+public class QueryStatistics extends SimpleJdbcEventListener {
+    private static final int MAX_NORMALIZED = 10_000;
+
+    private final int maxFingerprints;
+    private final int maxSamples;
+    private final int maxSampleLength;
+    private final Map<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+
+    public QueryStatistics(@Value("${datajpa.diagnostics.queries.max-fingerprints:500}") int maxFingerprints,
+                           @Value("${datajpa.diagnostics.queries.samples:5}") int maxSamples,
+                           @Value("${datajpa.diagnostics.queries.sample-max-length:2000}") int maxSampleLength) {
+        this.maxFingerprints = maxFingerprints;
+        this.maxSamples = maxSamples;
+        this.maxSampleLength = maxSampleLength;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        record(statementInformation.getSql(), timeElapsedNanos, e != null, statementInformation::getSqlWithValues);
+    }
+
+    void record(String sql, long nanos, boolean error, Supplier<String> sqlWithValues) {
+        if (sql == null || sql.isEmpty()) {
+            return;
+        }
+        String fingerprint = fingerprint(sql);
+        QueryStats queryStats = stats.get(fingerprint);
+        if (queryStats != null) {
+            queryStats.record(nanos, error, sqlWithValues);
+            if (stats.get(fingerprint) == queryStats) {
+                return;
+            }
+        }
+        //처음 보는 지문 또는 기록하는 동안 밀려남 -> 잠금 안에서 다시 확인하고 기록
+        synchronized (stats) {
+            getOrCreate(fingerprint).record(nanos, error, sqlWithValues);
+        }
+    }
+
+    String fingerprint(String sql) {
+        String fingerprint = normalized.get(sql);
+        if (fingerprint == null) {
+            fingerprint = SqlNormalizer.normalize(sql);
+            if (normalized.size() < MAX_NORMALIZED) {
+                normalized.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    //stats 잠금 안에서만 호출
+    private QueryStats getOrCreate(String fingerprint) {
+        QueryStats queryStats = stats.get(fingerprint);
+        if (queryStats != null) {
+            return queryStats;
+        }
+        long inherited = stats.size() >= maxFingerprints ? evictLightest() : 0;
+        queryStats = new QueryStats(fingerprint, maxSamples, maxSampleLength, inherited);
+        stats.put(fingerprint, queryStats);
+        return queryStats;
+    }
+
+    /**
+     * @return 버린 지문의 가중치
+     */
+    private long evictLightest() {
+        return stats.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().getWeightNanos()))
+                .map(entry -> {
+                    stats.remove(entry.getKey());
+                    return entry.getValue().getWeightNanos();
+                })
+                .orElse(0L);
+    }
+
+    /**
+     * sort: total(누적 시간), calls(실행 수), p99 -> 큰 순서로 limit개
+     */
+    public List<QueryStatsSnapshot> top(String sort, int limit) {
+        Comparator<QueryStatsSnapshot> order;
+        if ("calls".equals(sort)) {
+            order = Comparator.comparingLong(QueryStatsSnapshot::getCalls);
+        } else if ("p99".equals(sort)) {
+            order = Comparator.comparingLong(QueryStatsSnapshot::getP99Micros);
+        } else {
+            order = Comparator.comparingLong(QueryStatsSnapshot::getTotalMicros);
+        }
+        List<QueryStatsSnapshot> result = new ArrayList<>();
+        for (QueryStats queryStats : stats.values()) {
+            result.add(queryStats.snapshot());
+        }
+        result.sort(order.reversed());
+        return result.subList(0, Math.min(Math.max(0, limit), result.size()));
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+}
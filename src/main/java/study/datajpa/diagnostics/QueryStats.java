@@ -0,0 +1,99 @@
+package study.datajpa.diagnostics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SQL 지문 하나의 실행 통계 + 가장 느린 실행 샘플 몇 건
+ * - 샘플은 지금까지의 가장 느린 샘플들보다 느릴 때만 잠금 + 파라미터 값 SQL 생성
+ * - inheritedNanos: 이 지문이 들어오면서 밀어낸 지문의 가중치 (Space-Saving, 제거 순서에만 사용)
+ */
+public class QueryStats {
+    private final String fingerprint;
+    private final int maxSamples;
+    private final int maxSampleLength;
+    private final long inheritedNanos;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final List<Sample> samples = new ArrayList<>();
+    private volatile long sampleThresholdNanos; //샘플이 다 차면 가장 빠른 샘플의 시간
+
+    public QueryStats(String fingerprint, int maxSamples, int maxSampleLength) {
+        this(fingerprint, maxSamples, maxSampleLength, 0);
+    }
+
+    public QueryStats(String fingerprint, int maxSamples, int maxSampleLength, long inheritedNanos) {
+        this.fingerprint = fingerprint;
+        this.maxSamples = maxSamples;
+        this.maxSampleLength = maxSampleLength;
+        this.inheritedNanos = inheritedNanos;
+    }
+
+    public void record(long nanos, boolean error, Supplier<String> sqlWithValues) {
+        latency.record(nanos);
+        if (error) {
+            errors.increment();
+        }
+        if (maxSamples > 0 && nanos > sampleThresholdNanos) {
+            sample(nanos, sqlWithValues);
+        }
+    }
+
+    private void sample(long nanos, Supplier<String> sqlWithValues) {
+        synchronized (samples) {
+            if (samples.size() >= maxSamples) {
+                if (nanos <= sampleThresholdNanos) {
+                    return;
+                }
+                samples.remove(samples.size() - 1);
+            }
+            String sql = sqlWithValues.get();
+            if (sql != null && sql.length() > maxSampleLength) {
+                sql = sql.substring(0, maxSampleLength) + "...";
+            }
+            samples.add(new Sample(nanos, sql, LocalDateTime.now()));
+            samples.sort(Comparator.comparingLong((Sample s) -> s.nanos).reversed());
+            if (samples.size() >= maxSamples) {
+                sampleThresholdNanos = samples.get(samples.size() - 1).nanos;
+            }
+        }
+    }
+
+    public long getTotalNanos() {
+        return latency.getTotalNanos();
+    }
+
+    /**
+     * 제거 순서 기준 = 누적 시간 + 물려받은 가중치 (실제 누적 시간의 상한)
+     */
+    public long getWeightNanos() {
+        return inheritedNanos + latency.getTotalNanos();
+    }
+
+    public QueryStatsSnapshot snapshot() {
+        List<QuerySample> slowest = new ArrayList<>();
+        synchronized (samples) {
+            for (Sample sample : samples) {
+                slowest.add(new QuerySample(sample.nanos, sample.sql, sample.executedAt));
+            }
+        }
+        return new QueryStatsSnapshot(fingerprint, latency.getCount(), errors.sum(), latency.getTotalNanos(),
+                latency.getMeanNanos(), latency.percentile(0.5), latency.percentile(0.99), latency.getMaxNanos(), slowest);
+    }
+
+    private static class Sample {
+        private final long nanos;
+        private final String sql;
+        private final LocalDateTime executedAt;
+
+        private Sample(long nanos, String sql, LocalDateTime executedAt) {
+            this.nanos = nanos;
+            this.sql = sql;
+            this.executedAt = executedAt;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package study.datajpa.diagnostics;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * SQL 지문별 통계 스냅샷 (시간 단위: 마이크로초)
+ */
+@Getter
+public class QueryStatsSnapshot {
+    private final String fingerprint;
+    private final long calls;
+    private final long errors;
+    private final long totalMicros;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+    private final List<QuerySample> slowest;
+
+    public QueryStatsSnapshot(String fingerprint, long calls, long errors, long totalNanos, long meanNanos,
+                              long p50Nanos, long p99Nanos, long maxNanos, List<QuerySample> slowest) {
+        this.fingerprint = fingerprint;
+        this.calls = calls;
+        this.errors = errors;
+        this.totalMicros = totalNanos / 1_000;
+        this.meanMicros = meanNanos / 1_000;
+        this.p50Micros = p50Nanos / 1_000;
+        this.p99Micros = p99Nanos / 1_000;
+        this.maxMicros = maxNanos / 1_000;
+        this.slowest = slowest;
+    }
+}
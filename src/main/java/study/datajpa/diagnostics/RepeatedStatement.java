@@ -0,0 +1,21 @@
+package study.datajpa.diagnostics;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 파라미터만 다르고 같은 SQL이 반복 실행된 경우 (N+1 의심)
+ */
+@Getter
+@ToString
+public class RepeatedStatement {
+    private final String sql;
+    private final int count;
+    private final String callSite;
+
+    public RepeatedStatement(String sql, int count, String callSite) {
+        this.sql = sql;
+        this.count = count;
+        this.callSite = callSite;
+    }
+}
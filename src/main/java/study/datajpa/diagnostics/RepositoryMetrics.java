@@ -0,0 +1,76 @@
+package study.datajpa.diagnostics;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 리포지토리 메서드별 지연/행 수/오류 통계 저장소
+ * - 키: (리포지토리 클래스, 메서드) -> findById 처럼 같은 Method를 여러 리포지토리가 공유해도 구분
+ * - 처음 호출될 때만 MethodStats 생성, 이후에는 조회만 (객체 생성 X)
+ */
+public class RepositoryMetrics {
+    private final Map<Class<?>, Map<Method, MethodStats>> stats = new ConcurrentHashMap<>();
+
+    public MethodStats get(Object repository, Method method) {
+        Class<?> type = repository.getClass();
+        Map<Method, MethodStats> methods = stats.get(type);
+        if (methods == null) {
+            methods = stats.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        }
+        MethodStats methodStats = methods.get(method);
+        if (methodStats == null) {
+            methodStats = methods.computeIfAbsent(method, m -> new MethodStats(name(repository, m)));
+        }
+        return methodStats;
+    }
+
+    /**
+     * 누적 시간 큰 순서
+     */
+    public List<MethodStatsSnapshot> snapshot() {
+        List<MethodStatsSnapshot> result = new ArrayList<>();
+        for (Map<Method, MethodStats> methods : stats.values()) {
+            for (MethodStats methodStats : methods.values()) {
+                result.add(methodStats.snapshot());
+            }
+        }
+        result.sort(Comparator.comparingLong(MethodStatsSnapshot::getTotalMicros).reversed());
+        return result;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * ex) "MemberRepository.findByAge(int, Pageable)"
+     */
+    private static String name(Object repository, Method method) {
+        String params = Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(", "));
+        return repositoryName(repository) + "." + method.getName() + "(" + params + ")";
+    }
+
+    private static String repositoryName(Object repository) {
+        if (Proxy.isProxyClass(repository.getClass())) { //Spring Data 리포지토리 (JDK 프록시)
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(repository)) {
+                if (Repository.class.isAssignableFrom(type)) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(repository).getSimpleName();
+    }
+}
@@ -0,0 +1,27 @@
+package study.datajpa.diagnostics;
+
+import org.springframework.aop.Advisor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import study.datajpa.repository.RepositoryAdvisors;
+
+/**
+ * 모든 리포지토리(Spring Data 인터페이스 + @Repository 클래스)에 RepositoryMetricsInterceptor 적용
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public RepositoryMetrics repositoryMetrics() {
+        return new RepositoryMetrics();
+    }
+
+    @Bean
+    public Advisor repositoryMetricsAdvisor(RepositoryMetrics repositoryMetrics) {
+        return RepositoryAdvisors.advisor(RepositoryAdvisors.ALL,
+                method -> !ReflectionUtils.isObjectMethod(method)
+                        && !method.getDeclaringClass().getName().startsWith("org.springframework.aop"),
+                new RepositoryMetricsInterceptor(repositoryMetrics));
+    }
+}
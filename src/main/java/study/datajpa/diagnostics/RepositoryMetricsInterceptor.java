@@ -0,0 +1,57 @@
+package study.datajpa.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * 리포지토리 메서드 호출마다 지연 시간, 반환 행 수, 오류 기록
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+    private final RepositoryMetrics metrics;
+
+    public RepositoryMetricsInterceptor(RepositoryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodStats stats = metrics.get(invocation.getThis(), invocation.getMethod());
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            stats.record(System.nanoTime() - start, rows(result), false);
+            return result;
+        } catch (Throwable e) {
+            stats.record(System.nanoTime() - start, 0, true);
+            throw e;
+        }
+    }
+
+    /**
+     * 반환 값 -> 행 수 (Stream 등 알 수 없으면 0)
+     */
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Map || result instanceof Iterable || result instanceof BaseStream) {
+            return 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,130 @@
+package study.datajpa.diagnostics;
+
+/**
+ * SQL -> 지문(fingerprint): 값만 다른 SQL을 같은 문장으로 묶기
+ * - 문자열/숫자 리터럴 -> ?
+ * - IN 목록 (?, ?, ...) -> (?...) : in_clause_parameter_padding, 청크 크기와 상관없이 하나로
+ * - 공백/줄바꿈(format_sql) -> 공백 하나
+ * - 정규식 없이 한 번 훑기 (실행되는 모든 SQL에 호출)
+ */
+public final class SqlNormalizer {
+
+    private SqlNormalizer() {
+    }
+
+    public static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipString(sql, i);
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (out.length() > 0 && i < length) {
+                    out.append(' ');
+                }
+            } else if (isNumberStart(sql, i)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (c == '(' && isInList(out)) {
+                int end = skipParameterList(sql, i);
+                if (end > 0) {
+                    out.append("(?...)");
+                    i = end;
+                } else {
+                    out.append(c);
+                    i++;
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    //'...' ('' 는 escape) 다음 위치
+    private static int skipString(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    //식별자 중간(member0_, t1)의 숫자는 리터럴 X
+    private static boolean isNumberStart(String sql, int i) {
+        char c = sql.charAt(i);
+        boolean digit = Character.isDigit(c)
+                || (c == '-' && i + 1 < sql.length() && Character.isDigit(sql.charAt(i + 1)) && !isOperand(sql, i - 1));
+        if (!digit || i == 0) {
+            return digit;
+        }
+        char prev = sql.charAt(i - 1);
+        return !(Character.isLetterOrDigit(prev) || prev == '_' || prev == '.' || prev == '$');
+    }
+
+    //a-1 의 '-'는 부호가 아니라 연산자
+    private static boolean isOperand(String sql, int i) {
+        while (i >= 0 && Character.isWhitespace(sql.charAt(i))) {
+            i--;
+        }
+        return i >= 0 && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == ')' || sql.charAt(i) == '_');
+    }
+
+    //직전 토큰이 in ?
+    private static boolean isInList(StringBuilder out) {
+        int end = out.length();
+        while (end > 0 && out.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end < 2) {
+            return false;
+        }
+        char i = Character.toLowerCase(out.charAt(end - 2));
+        char n = Character.toLowerCase(out.charAt(end - 1));
+        return i == 'i' && n == 'n' && (end == 2 || !Character.isLetterOrDigit(out.charAt(end - 3)) && out.charAt(end - 3) != '_');
+    }
+
+    /**
+     * (?, 1, 'a', ...) 처럼 값만 있는 목록이면 ')' 다음 위치, 아니면(서브쿼리 등) -1
+     */
+    private static int skipParameterList(String sql, int start) {
+        int i = start + 1;
+        boolean value = false;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == ')') {
+                return value ? i + 1 : -1;
+            } else if (c == '\'') {
+                i = skipString(sql, i);
+                value = true;
+            } else if (c == '?' || c == ',' || Character.isWhitespace(c)) {
+                value |= c == '?';
+                i++;
+            } else if (isNumberStart(sql, i)) {
+                while (i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                value = true;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
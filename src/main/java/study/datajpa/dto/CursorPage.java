@@ -0,0 +1,32 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset 페이징 응답
+ * - nextCursor: 다음 페이지 요청에 그대로 넘겨주는 값 (마지막 페이지면 null)
+ * - 전체 개수(totalElements) 없음 -> count 쿼리 X
+ */
+@Getter
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorPage(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public static <S, T> CursorPage<T> of(Slice<S> slice, Function<S, T> converter, Function<S, String> cursor) {
+        List<S> rows = slice.getContent();
+        String next = slice.hasNext() && !rows.isEmpty() ? cursor.apply(rows.get(rows.size() - 1)) : null;
+        return new CursorPage<>(rows.stream().map(converter).collect(Collectors.toList()), next, slice.hasNext());
+    }
+}
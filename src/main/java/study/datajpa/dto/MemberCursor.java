@@ -0,0 +1,45 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset 페이징 커서: 마지막으로 조회한 (username, id)
+ * - 클라이언트에는 Base64(URL-safe) 문자열로만 노출 -> 내부 정렬 키 구조를 몰라도 됨 (opaque token)
+ */
+@Getter
+public class MemberCursor {
+    private static final char SEPARATOR = '\n';
+
+    private final String username;
+    private final Long id;
+
+    public MemberCursor(String username, Long id) {
+        this.username = username;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + username;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 잘못된 커서 문자열
+     */
+    public static MemberCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int idx = raw.indexOf(SEPARATOR);
+        if (idx < 0) {
+            throw new IllegalArgumentException("invalid cursor: " + token);
+        }
+        try {
+            return new MemberCursor(raw.substring(idx + 1), Long.valueOf(raw.substring(0, idx)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid cursor: " + token, e);
+        }
+    }
+}
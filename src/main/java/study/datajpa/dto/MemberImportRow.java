@@ -0,0 +1,17 @@
+package study.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대량 등록 입력 한 줄 (CSV: username,age[,teamId] / NDJSON: {"username":..,"age":..,"teamId":..})
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberImportRow {
+    private String username;
+    private int age;
+    private Long teamId;
+}
@@ -1,6 +1,7 @@
 package study.datajpa.entity;
 
 import lombok.Getter;
+import study.datajpa.audit.AuditContext;
 
 import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
@@ -21,13 +22,13 @@ public class JpaBaseEntity {
 
     @PrePersist
     public void prePersist() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = AuditContext.now(); //대량 등록 중이면 한 시각 공유
         createDate = now;
         updateDate = now;
     }
 
     @PreUpdate
     public void preUpdate() {
-        updateDate = LocalDateTime.now();
+        updateDate = AuditContext.now();
     }
 }
@@ -14,9 +14,19 @@ import javax.persistence.*;
         query = "select m from Member m where m.username =: username"
 )
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@EntityListeners(MemberChangeListener.class) //변경 이벤트 발행 (캐시 무효화)
+@Table(indexes = {
+        @Index(name = "idx_member_username_id", columnList = "username desc, member_id desc"), //Keyset 페이징용
+        @Index(name = "idx_member_last_modified", columnList = "last_modified_date") //목록 ETag: max(lastModifiedDate)
+})
 public class Member extends BaseEntity {
+    /**
+     * 시퀀스 pooled 할당: 시퀀스 1번 호출로 id 50개 확보 -> 대량 저장 시 DB 왕복 감소
+     * - IDENTITY는 insert해야 id를 알 수 있어서 JDBC batch insert 불가!
+     */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
     private String username;
@@ -26,6 +36,14 @@ public class Member extends BaseEntity {
     @JoinColumn(name = "team_id")
     private Team team;
 
+    /**
+     * 낙관적 락: 수정 시 where version = ? 로 확인 -> 그 사이 다른 트랜잭션이 수정했으면 OptimisticLockException
+     * - 비관적 락(findLockByUsername)처럼 조회 시점에 락을 잡지 않음 -> 충돌 시 OptimisticRetryExecutor로 재시도
+     * - 벌크 수정(update 쿼리)은 직접 version + 1 해줘야 함
+     */
+    @Version
+    private Long version;
+
     public Member(String username) {
         this.username = username;
     }
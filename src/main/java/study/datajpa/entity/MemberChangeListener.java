@@ -0,0 +1,60 @@
+package study.datajpa.entity;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.function.Supplier;
+
+/**
+ * JPA 엔티티 리스너 -> 스프링 이벤트(MemberChangedEvent)로 변환
+ * - Hibernate가 스프링 빈 컨테이너(SpringBeanContainer)로 생성 -> 생성자 주입 가능
+ * - 벌크 연산(JPQL update/delete)은 엔티티를 거치지 않으므로 여기서 안 잡힘! (ModifyingQueryEventConfig가 bulk 이벤트 발행)
+ * - suppressed(...) 안에서는 발행 X: 대량 등록처럼 엔티티마다 이벤트(+ 커밋까지 남는 동기화 객체)가 쌓이는 작업은 끝나고 bulk 이벤트 한 번
+ */
+public class MemberChangeListener {
+    private static final ThreadLocal<Boolean> SUPPRESSED = new ThreadLocal<>();
+
+    private final ApplicationEventPublisher publisher;
+
+    public MemberChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * action 안에서 엔티티별 이벤트 발행 X (호출한 쪽이 MemberChangedEvent.bulk() 발행)
+     */
+    public static <T> T suppressed(Supplier<T> action) {
+        if (SUPPRESSED.get() != null) {
+            return action.get();
+        }
+        SUPPRESSED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            SUPPRESSED.remove();
+        }
+    }
+
+    @PostPersist
+    public void postPersist(Member member) {
+        publish(new MemberChangedEvent(MemberChangedEvent.Type.CREATED, member.getId()));
+    }
+
+    @PostUpdate
+    public void postUpdate(Member member) {
+        publish(new MemberChangedEvent(MemberChangedEvent.Type.UPDATED, member.getId()));
+    }
+
+    @PostRemove
+    public void postRemove(Member member) {
+        publish(new MemberChangedEvent(MemberChangedEvent.Type.DELETED, member.getId()));
+    }
+
+    private void publish(MemberChangedEvent event) {
+        if (SUPPRESSED.get() == null) {
+            publisher.publishEvent(event);
+        }
+    }
+}
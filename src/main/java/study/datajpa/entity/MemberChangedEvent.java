@@ -0,0 +1,34 @@
+package study.datajpa.entity;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Member 변경 이벤트 (MemberChangeListener가 발행)
+ * - 캐시 무효화 용도: count 캐시, near-cache(MemberLookupCache) 등
+ * - id == null : 벌크 연산처럼 어떤 회원이 바뀌었는지 모를 때 (전체 무효화)
+ */
+@Getter
+@ToString
+public class MemberChangedEvent {
+    public enum Type {CREATED, UPDATED, DELETED, BULK}
+
+    private final Type type;
+    private final Long id;
+
+    public MemberChangedEvent(Type type, Long id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    public static MemberChangedEvent bulk() {
+        return new MemberChangedEvent(Type.BULK, null);
+    }
+
+    /**
+     * 회원 수가 바뀌었을 수 있는 변경인가?
+     */
+    public boolean isCountChanged() {
+        return type != Type.UPDATED;
+    }
+}
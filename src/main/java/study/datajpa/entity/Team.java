@@ -1,6 +1,8 @@
 package study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -11,13 +13,20 @@ import java.util.List;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Cacheable //2차 캐시: 거의 안 바뀌고 자주 읽음 (member.getTeam() 지연 로딩도 캐시에서 꺼냄)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_team_update_date", columnList = "update_date")) //DTO 목록 ETag: max(updateDate)
 public class Team extends JpaBaseEntity {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50)
     @Column(name = "team_id")
     private Long id;
     private String name;
 
+    @Version //낙관적 락 (Member.version 참고)
+    private Long version;
+
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
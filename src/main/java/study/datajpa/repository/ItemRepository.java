@@ -2,7 +2,8 @@ package study.datajpa.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import study.datajpa.entity.Item;
+import study.datajpa.repository.custom.ItemRepositoryCustom;
+
+public interface ItemRepository extends JpaRepository<Item, String>, ItemRepositoryCustom {
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-    
 }
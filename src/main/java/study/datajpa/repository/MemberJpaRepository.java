@@ -1,10 +1,14 @@
 package study.datajpa.repository;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
+import study.datajpa.audit.AuditContext;
 import study.datajpa.entity.Member;
+import study.datajpa.entity.MemberChangedEvent;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +19,11 @@ import java.util.Optional;
 public class MemberJpaRepository {
     @PersistenceContext
     private EntityManager em;
+    private final ApplicationEventPublisher publisher;
+
+    public MemberJpaRepository(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
 
     public Member save(Member member) {
         em.persist(member);
@@ -72,6 +81,26 @@ public class MemberJpaRepository {
                 .getResultList();
     }
 
+    /**
+     * Keyset(Seek) 페이징 - findByPage의 offset 대신 마지막으로 조회한 (username, id) 다음부터 조회
+     * - lastUsername == null 이면 첫 페이지
+     * - 정렬: username desc, id desc (id로 동일 username 구분)
+     */
+    public List<Member> findByPageAfter(int age, String lastUsername, Long lastId, int limit) {
+        String jpql = "select m from Member m where m.age = :age";
+        if (lastUsername != null) {
+            jpql += " and (m.username < :username or (m.username = :username and m.id < :id))";
+        }
+        TypedQuery<Member> query = em.createQuery(jpql + " order by m.username desc, m.id desc", Member.class)
+                .setParameter("age", age)
+                .setMaxResults(limit);
+        if (lastUsername != null) {
+            query.setParameter("username", lastUsername)
+                    .setParameter("id", lastId);
+        }
+        return query.getResultList();
+    }
+
     public long totalCount(int age) {
         return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
                 .setParameter("age", age)
@@ -82,10 +111,12 @@ public class MemberJpaRepository {
      * 벌크성 수정 쿼리 -> ex) 모든 멤버의 월급 10% 인상..
      */
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member  m set m.age = m.age + 1" +
-                        " where m.age >= :age")
+        int updated = em.createQuery("update Member  m set m.age = m.age + 1, m.version = m.version + 1," +
+                        " m.lastModifiedDate = :now where m.age >= :age")
+                .setParameter("now", AuditContext.now())
                 .setParameter("age", age)
                 .executeUpdate();
-
+        publisher.publishEvent(MemberChangedEvent.bulk()); //엔티티 리스너를 안 거침 -> 캐시 무효화 직접
+        return updated;
     }
 }
@@ -2,14 +2,18 @@ package study.datajpa.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.count.ParallelCount;
 import study.datajpa.repository.custom.MemberRepositoryCustom;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -56,11 +60,17 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
             " from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
+    //DTO 페이징: 엔티티 X (스냅샷, 영속성 컨텍스트 X) + 필요한 컬럼만 조회
+    //팀 없는 회원도 포함 -> left join, count는 join 불필요
+    @Query(value = "select new study.datajpa.dto.MemberDto(m.id, m.username, t.name)" +
+            " from Member m left join m.team t",
+            countQuery = "select count(m) from Member m")
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
     /**
      * 컬렉션 파라미터 바인딩: Collection 타입으로 in절 지원
+     * - findByNames(List<String> names) -> MemberRepositoryCustom 으로 이동 (큰 목록은 청크로 나눠서 조회)
      */
-    @Query("select m from  Member  m where m.username in :names")
-    List<Member> findByNames(@Param("names") List<String> names);
 
     /**
      * 반환 타입
@@ -78,22 +88,76 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
      * Page : 추가 count 쿼리 결과를 포함하는 페이징
      * Slice : 추가 count 쿼리 없이 다음 페이지만 확인 가능 (내부적으로 limit + 1 조회)
      * List : 추가 count 쿼리 없이 결과만 반환
+     * @ParallelCount : datajpa.count.parallel=true 면 content(slice)/count 메서드 동시 실행 (count 느리면 SlicedPage)
      */
+    @ParallelCount(slice = "findSliceByAge", count = "countForAge")
     @Query(value = "select m from Member m left join m.team t",
             countQuery = "select count(m) from Member m")
     Page<Member> findByAge(int age, Pageable pageable);
 
+    @Query("select m from Member m left join m.team t")
+    Slice<Member> findSliceByAge(int age, Pageable pageable);
+
+    @Query("select count(m) from Member m")
+    long countForAge(int age);
+
+    @ParallelCount(slice = "findSliceBy", count = "count")
+    @Override
+    Page<Member> findAll(Pageable pageable);
+
+    Slice<Member> findSliceBy(Pageable pageable);
+
 //    Slice<Member> findByAge(int age, Pageable pageable);
 
+    /**
+     * Keyset(Seek) 페이징: offset 대신 "마지막으로 본 키" 다음부터 조회
+     * - offset: 앞 페이지 데이터를 전부 읽고 버림 -> 뒤 페이지일수록 느려짐
+     * - keyset: (username, id) 인덱스로 바로 다음 위치부터 읽음 -> 몇 번째 페이지든 속도 동일
+     * - Slice 반환 -> count 쿼리 X, limit + 1 로 다음 페이지 여부만 확인
+     * - Pageable은 크기(size)만 사용. 정렬은 쿼리에 고정 (page 번호는 항상 0)
+     */
+    @Query("select m from Member m where m.id > :id order by m.id asc")
+    Slice<Member> seekByIdAfter(@Param("id") Long lastId, Pageable pageable);
+
+    @Query("select m from Member m order by m.username desc, m.id desc")
+    Slice<Member> seekFirstByUsernameDesc(Pageable pageable);
+
+    @Query("select m from Member m" +
+            " where m.username < :username or (m.username = :username and m.id < :id)" +
+            " order by m.username desc, m.id desc")
+    Slice<Member> seekByUsernameDesc(@Param("username") String lastUsername, @Param("id") Long lastId, Pageable pageable);
+
 
     /**
      * 벌크성 수정 쿼리: where 조건에 맞는 모든 쿼리 수정
      * - 벌크성 수정 쿼리는 영속성 컨텍스트 무시하고 실행되기 때문에 @Modifying or em.clear() 필수!
+     * - 대량 데이터: 전체 락 + 영속성 컨텍스트 전체 초기화 -> MemberBulkUpdater (청크 단위 커밋) 사용
+     * - 엔티티를 안 거치므로 auditing X -> lastModifiedDate 직접 (ETag/Last-Modified 계산에 사용)
      */
     @Modifying(clearAutomatically = true) // ==.executeUpdate()
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    @Query("update Member m set m.age = m.age + 1, m.version = m.version + 1," + //version + 1: 낙관적 락 충돌 감지
+            " m.lastModifiedDate = :#{T(study.datajpa.audit.AuditContext).now()} where m.age >= :age")
     int bulkAgePlus(@Param("age") int age);
 
+    /**
+     * 조건부 GET(ETag/Last-Modified) 확인용: 엔티티 로딩 없이 버전 컬럼만
+     */
+    @Query("select m.id as id, m.version as version, m.lastModifiedDate as lastModifiedDate from Member m where m.id = :id")
+    Optional<MemberVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * 목록 ETag: 인덱스(idx_member_last_modified)만 읽음
+     */
+    @Query("select max(m.lastModifiedDate) from Member m")
+    LocalDateTime findLastModified();
+
+    /**
+     * 팀 이름이 있는 목록(DTO) ETag: 회원 + 팀 max 시각 (둘 다 인덱스)
+     */
+    @Query("select max(m.lastModifiedDate) as lastModified," +
+            " (select max(t.updateDate) from Team t) as teamLastModified from Member m")
+    MemberTableVersion findTableVersion();
+
     /**
      * JPQL 페치 조인
      */
@@ -124,10 +188,15 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
      * -> @QueryHints 를 통해 readOnly로 만들어서 스냅샷 생성 X
      */
     //readOnly: true - SnapShot 안 만듬 (성능 최적화)
+    //@Transactional(readOnly = true) - 읽기 전용 트랜잭션 -> replica DataSource로 라우팅 (RoutingDataSourceConfig)
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Transactional(readOnly = true)
     Member findReadOnlyByUsername(String username);
 
+    //비관적 락: 락 대기는 최대 3초 (DB가 지원하면 -> 넘으면 LockTimeoutException/PessimisticLockException)
+    //쓰기 경합이 심하면 @Version 낙관적 락 + OptimisticRetryExecutor 고려
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "3000"))
     List<Member> findLockByUsername(String username);
 
     /**
@@ -148,6 +217,12 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
      */
     <T> List<T> findProjectionsByUsername(String username, Class<T> type);
 
+    //전체 조회 + 동적 Projections (조회 전략 성능 비교용)
+    <T> List<T> findAllProjectedBy(Class<T> type);
+
+    //id 단건 + 동적 Projections (@Projected 경로 변수 변환용: 엔티티 대신 필요한 컬럼만)
+    <T> Optional<T> findProjectedById(Long id, Class<T> type);
+
     /**
      * 네이티브 쿼리
      * 한계
@@ -165,7 +240,16 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
             "from member m left join team t on m.team_id = t.team_id",
             countQuery = "select count(*) from member",
             nativeQuery = true)
+    @ParallelCount(slice = "findSliceByNativeProjection", count = "countNativeProjection")
     Page<MemberProjection> findByNativeProjection(Pageable pageable);
 
+    @Query(value = "select m.member_id as id, m.username, t.name as teamName " +
+            "from member m left join team t on m.team_id = t.team_id",
+            nativeQuery = true)
+    Slice<MemberProjection> findSliceByNativeProjection(Pageable pageable);
+
+    @Query(value = "select count(*) from member", nativeQuery = true)
+    long countNativeProjection();
+
 }
 
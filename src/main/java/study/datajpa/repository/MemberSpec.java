@@ -1,34 +1,35 @@
 package study.datajpa.repository;
 
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
+import study.datajpa.repository.spec.ShapedSpec;
 
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import java.util.Collections;
 
 /**
  * 명세: JPA Criteria 사용해서 Specification 구현
  * JPA Criteria -> JPQL 생성 -> 동적 쿼리 생성
  * - 실무 사용 X
+ * ShapedSpec 반환: findAll(spec)은 그대로, findAllCached(spec)는 shape별 JPQL 번역 캐시 사용
  */
 public class MemberSpec {
     //팀 이름이 검색 조건
-    public static Specification<Member> teamName(final String teamName) {
-        return (Specification<Member>) (root, query, builder) -> {
-            if (StringUtils.isEmpty(teamName)) {
-                return null;
-            }
-
+    public static ShapedSpec<Member> teamName(final String teamName) {
+        if (StringUtils.isEmpty(teamName)) {
+            return ShapedSpec.none(); //조건 없음 -> shape에서도 제외
+        }
+        return ShapedSpec.of("teamName", Collections.singletonList(teamName), (root, query, builder, values) -> {
             Join<Member, Team> t = root.join("team", JoinType.INNER); //회원과 팀 조인
-            return builder.equal(t.get("name"), teamName); //where 문
-        };
+            return builder.equal(t.get("name"), values.get(0, String.class)); //where 문
+        });
     }
 
-    public static Specification<Member> username(final String username) {
-        return (Specification<Member>) (root, query, builder) ->
-                builder.equal(root.get("username"), username);
+    public static ShapedSpec<Member> username(final String username) {
+        return ShapedSpec.of("username", Collections.singletonList(username), (root, query, builder, values) ->
+                builder.equal(root.get("username"), values.get(0, String.class)));
     }
 }
 
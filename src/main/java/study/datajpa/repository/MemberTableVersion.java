@@ -0,0 +1,14 @@
+package study.datajpa.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 + 팀의 변경 여부 확인용 (팀 이름이 있는 목록의 ETag/Last-Modified)
+ * - 회원 등록/수정 -> lastModified 증가, 팀 수정 -> teamLastModified 증가
+ * - 삭제는 MemberChangeCounter로 구분
+ */
+public interface MemberTableVersion {
+    LocalDateTime getLastModified();
+
+    LocalDateTime getTeamLastModified();
+}
@@ -0,0 +1,15 @@
+package study.datajpa.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 한 명의 변경 여부 확인용 (ETag/Last-Modified)
+ * - version은 모든 수정(벌크 포함)에서 + 1 -> 같은 version = 같은 내용
+ */
+public interface MemberVersion {
+    Long getId();
+
+    Long getVersion();
+
+    LocalDateTime getLastModifiedDate();
+}
@@ -0,0 +1,51 @@
+package study.datajpa.repository;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.function.Predicate;
+
+/**
+ * 리포지토리 메서드용 Advisor (메트릭, Projection 쿼리, 벌크 이벤트, 병렬 count 공용)
+ * - 대상 메서드 판별은 프록시 생성 시점에 한 번 (StaticMethodMatcherPointcut)
+ * - 인터셉터가 쓰는 빈은 ObjectProvider로: Advisor는 다른 빈보다 먼저 생성됨
+ */
+public final class RepositoryAdvisors {
+    /**
+     * Spring Data 리포지토리 인터페이스
+     */
+    public static final ClassFilter SPRING_DATA = Repository.class::isAssignableFrom;
+
+    /**
+     * Spring Data 리포지토리 + @Repository 클래스 (순수 JPA 리포지토리)
+     */
+    public static final ClassFilter ALL = type -> SPRING_DATA.matches(type)
+            || AnnotatedElementUtils.hasAnnotation(type, org.springframework.stereotype.Repository.class);
+
+    private RepositoryAdvisors() {
+    }
+
+    /**
+     * Spring Data 리포지토리에서 methods에 맞는 메서드에만 interceptor 적용
+     */
+    public static Advisor advisor(Predicate<Method> methods, MethodInterceptor interceptor) {
+        return advisor(SPRING_DATA, methods, interceptor);
+    }
+
+    public static Advisor advisor(ClassFilter classes, Predicate<Method> methods, MethodInterceptor interceptor) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return methods.test(method);
+            }
+        };
+        pointcut.setClassFilter(classes);
+        return new DefaultPointcutAdvisor(pointcut, interceptor);
+    }
+}
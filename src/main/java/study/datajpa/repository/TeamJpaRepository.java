@@ -1,5 +1,6 @@
 package study.datajpa.repository;
 
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
 import study.datajpa.entity.Team;
 
@@ -22,8 +23,13 @@ public class TeamJpaRepository {
         em.remove(team);
     }
 
+    /**
+     * 쿼리 캐시: 결과 id 목록을 캐시 -> 엔티티는 2차 캐시에서 조회
+     * - team 테이블이 바뀌면 자동 무효화
+     */
     public List<Team> findAll() {
         return em.createQuery("select t from Team  t", Team.class)
+                .setHint(QueryHints.CACHEABLE, true)
                 .getResultList();
     }
 
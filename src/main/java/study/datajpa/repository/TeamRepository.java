@@ -1,7 +1,17 @@
 package study.datajpa.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import study.datajpa.entity.Team;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
 public interface TeamRepository extends JpaRepository<Team, Long> {
+    /**
+     * 쿼리 캐시 (findById 등 id 조회는 2차 캐시 자동 사용)
+     */
+    @Override
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+    List<Team> findAll();
 }
@@ -0,0 +1,36 @@
+package study.datajpa.repository.batch;
+
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.datajpa.diagnostics.BatchFetchStatistics;
+
+import java.util.List;
+
+/**
+ * 지연 로딩 배치 조회 (N+1 -> 1 + N/batchSize)
+ * - 영속성 컨텍스트에 쌓인 미초기화 프록시/컬렉션을 하나 초기화할 때 같은 종류를 batch size만큼 모아서 IN 조회
+ * - 기본 크기: hibernate.default_batch_fetch_size, 연관관계별 크기: datajpa.batch-fetch.sizes
+ * - 절약한 조회 수: /diagnostics/batch-fetch
+ */
+@Configuration
+public class BatchFetchConfig {
+
+    @Bean
+    @ConfigurationProperties("datajpa.batch-fetch")
+    public BatchFetchProperties batchFetchProperties() {
+        return new BatchFetchProperties();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer batchFetchCustomizer(BatchFetchProperties properties,
+                                                             BatchFetchStatistics batchFetchStatistics) {
+        Integrator integrator = new BatchFetchIntegrator(properties.getSizes(), batchFetchStatistics);
+        return hibernateProperties -> hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+}
@@ -0,0 +1,69 @@
+package study.datajpa.repository.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import study.datajpa.diagnostics.BatchFetchStatistics;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 매핑 정보에 연관관계별 배치 크기 적용 (@BatchSize를 코드 대신 설정으로)
+ * - Integrator는 엔티티/컬렉션 persister 생성 전에 호출됨 -> 여기서 바꾼 batch size가 persister에 반영
+ * - 배치 조회 효과 측정용 이벤트 리스너(BatchFetchStatistics)도 여기서 등록
+ */
+@Slf4j
+public class BatchFetchIntegrator implements Integrator {
+    private final Map<String, Integer> sizes;
+    private final BatchFetchStatistics statistics;
+
+    public BatchFetchIntegrator(Map<String, Integer> sizes, BatchFetchStatistics statistics) {
+        this.sizes = sizes;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        Set<String> applied = new HashSet<>();
+        for (PersistentClass entity : metadata.getEntityBindings()) {
+            Integer size = sizes.get(entity.getJpaEntityName());
+            if (size != null) {
+                entity.setBatchSize(size);
+                applied.add(entity.getJpaEntityName());
+            }
+        }
+        for (Collection collection : metadata.getCollectionBindings()) {
+            String name = collection.getOwner().getJpaEntityName() + "." + StringHelper.unqualify(collection.getRole());
+            Integer size = sizes.get(name);
+            if (size != null) {
+                collection.setBatchSize(size);
+                applied.add(name);
+            }
+        }
+        for (String name : sizes.keySet()) {
+            if (!applied.contains(name)) {
+                log.warn("datajpa.batch-fetch.sizes.{}: 해당하는 엔티티/컬렉션 없음", name);
+            }
+        }
+
+        EventListenerRegistry listeners = serviceRegistry.getService(EventListenerRegistry.class);
+        listeners.prependListeners(EventType.LOAD, statistics.beforeLoad());
+        listeners.appendListeners(EventType.LOAD, statistics.afterLoad());
+        listeners.appendListeners(EventType.POST_LOAD, statistics);
+        listeners.prependListeners(EventType.INIT_COLLECTION, statistics);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
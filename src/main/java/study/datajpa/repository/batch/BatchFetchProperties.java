@@ -0,0 +1,19 @@
+package study.datajpa.repository.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * datajpa.batch-fetch.sizes: 연관관계별 지연 로딩 배치 크기
+ * - 엔티티 이름(Team): 해당 엔티티 프록시 초기화 (member.getTeam().getName())
+ * - 엔티티 이름.컬렉션(Team.members): 컬렉션 초기화 (team.getMembers())
+ * - 없으면 hibernate.default_batch_fetch_size
+ */
+@Getter
+@Setter
+public class BatchFetchProperties {
+    private Map<String, Integer> sizes = new LinkedHashMap<>();
+}
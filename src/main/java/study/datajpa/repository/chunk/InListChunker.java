@@ -0,0 +1,77 @@
+package study.datajpa.repository.chunk;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.datajpa.repository.concurrent.ReadOnlyExecutor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * 큰 IN 목록 조회: chunk-size 단위로 나눠서 실행 후 합치기
+ * - 드라이버/DB 파라미터 수 제한 회피 (ex. Oracle 1000개, SQL Server 2100개)
+ * - chunk-size는 2의 거듭제곱 -> hibernate.query.in_clause_parameter_padding 과 함께 IN 절 모양(쿼리 플랜) 최소화
+ * - 중복 값은 제거 (청크가 달라도 같은 행이 두 번 나오지 않게)
+ * - datajpa.in-list.parallel=true : 청크마다 별도 스레드 + 별도 읽기 전용 트랜잭션 (ReadOnlyExecutor)
+ *   -> 반환된 엔티티는 호출한 쪽 영속성 컨텍스트에 없음(준영속). 조회용으로만 사용!
+ *   -> 쓰기 트랜잭션 안에서 호출하면 순차 실행 (커밋 전 변경, 이미 영속 상태인 엔티티를 그대로 보게)
+ */
+@Component
+public class InListChunker {
+    private final int chunkSize;
+    private final boolean parallel;
+    private final ReadOnlyExecutor executor;
+
+    public InListChunker(ReadOnlyExecutor executor,
+                         @Value("${datajpa.in-list.chunk-size:1024}") int chunkSize,
+                         @Value("${datajpa.in-list.parallel:false}") boolean parallel) {
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.parallel = parallel;
+    }
+
+    /**
+     * @param query 청크 하나(chunk-size 이하)를 IN 파라미터로 조회
+     * @return 청크 순서대로 합친 결과
+     */
+    public <V, R> List<R> query(Collection<V> values, Function<List<V>, List<R>> query) {
+        List<V> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        if (distinct.isEmpty()) {
+            return new ArrayList<>(); //"in ()" 은 DB마다 문법 오류
+        }
+        if (distinct.size() <= chunkSize) {
+            return query.apply(distinct);
+        }
+
+        List<List<V>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            chunks.add(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+        }
+        List<R> result = new ArrayList<>();
+        if (!parallel || ReadOnlyExecutor.inWriteTransaction()) {
+            for (List<V> chunk : chunks) {
+                result.addAll(query.apply(chunk));
+            }
+            return result;
+        }
+
+        List<Future<List<R>>> futures = new ArrayList<>(chunks.size());
+        for (List<V> chunk : chunks) {
+            futures.add(executor.submit(() -> query.apply(chunk)));
+        }
+        try {
+            for (Future<List<R>> future : futures) {
+                result.addAll(ReadOnlyExecutor.await(future, "in-list chunk query"));
+            }
+        } finally {
+            for (Future<List<R>> future : futures) {
+                future.cancel(true); //실패 시 남은 청크 취소 (완료된 것은 영향 없음)
+            }
+        }
+        return result;
+    }
+}
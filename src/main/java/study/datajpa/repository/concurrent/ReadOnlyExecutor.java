@@ -0,0 +1,93 @@
+package study.datajpa.repository.concurrent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 조회 쿼리 동시 실행용 스레드 풀 (count 쿼리 PageCounter, IN 목록 청크 InListChunker 공용)
+ * - 작업마다 별도 읽기 전용 트랜잭션(REQUIRES_NEW) = 별도 커넥션 -> 반환된 엔티티는 호출한 쪽에서 준영속
+ * - 크기 제한: 스레드 datajpa.read-executor.threads, 큐 threads * 16
+ *   큐가 차면 호출 스레드에서 실행 (= 순차 실행으로 후퇴)
+ * - 쓰기 트랜잭션 안에서는 사용 X (inWriteTransaction): 별도 트랜잭션은 커밋 전 변경을 못 봄
+ */
+@Component
+public class ReadOnlyExecutor {
+    public static final String THREAD_PREFIX = "read-only-";
+
+    private final TransactionTemplate readOnlyTx;
+    private final ExecutorService executor;
+
+    public ReadOnlyExecutor(PlatformTransactionManager transactionManager,
+                            @Value("${datajpa.read-executor.threads:4}") int threads) {
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 16), new CustomizableThreadFactory(THREAD_PREFIX),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 호출한 쪽이 쓰기 트랜잭션 안인가? -> 같은 트랜잭션에서 순차 실행해야 커밋 전 변경/영속 엔티티가 보임
+     */
+    public static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    public <T> Future<T> submit(Supplier<T> query) {
+        return executor.submit(() -> readOnlyTx.execute(status -> query.get()));
+    }
+
+    /**
+     * 결과 대기, 작업에서 난 RuntimeException은 그대로 던짐
+     */
+    public static <T> T await(Future<T> future, String name) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw failed(e, name);
+        }
+    }
+
+    public static <T> T await(Future<T> future, long timeoutNanos, String name) throws TimeoutException {
+        try {
+            return future.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw failed(e, name);
+        }
+    }
+
+    private static RuntimeException failed(ExecutionException e, String name) {
+        if (e.getCause() instanceof RuntimeException) {
+            return (RuntimeException) e.getCause();
+        }
+        return new IllegalStateException(name + " failed", e.getCause());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,109 @@
+package study.datajpa.repository.count;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.entity.MemberChangedEvent;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * count 결과 캐시
+ * - 키: CountQuery.key (쿼리 모양별), TTL 지나면 다시 count
+ * - 등록/삭제 커밋 후 해당 엔티티의 모든 키 무효화, 수정 커밋 후 조건 있는 키만 무효화 (ex. 나이가 바뀌면 age=10 count도 바뀜)
+ * - 무효화 도중 계산된 값은 저장 안 함 (generation 비교) -> 오래된 count가 다시 들어가는 것 방지
+ * - 쓰기 트랜잭션 안에서 계산된 값은 커밋 후에 저장 (롤백되면 버림) -> 커밋 안 된 변경이 캐시에 남지 않음
+ */
+@Component
+public class CountCache {
+    private final long ttlNanos;
+    private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public CountCache(@Value("${datajpa.count.ttl:30s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public OptionalLong get(String key) {
+        Entry entry = counts.get(key);
+        if (entry == null || System.nanoTime() - entry.createdAt > ttlNanos) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(entry.count);
+    }
+
+    /**
+     * 캐시에 있으면 반환, 없으면 counter로 계산해서 저장
+     */
+    public long get(String key, LongSupplier counter) {
+        OptionalLong cached = get(key);
+        if (cached.isPresent()) {
+            return cached.getAsLong();
+        }
+        long gen = generation.get();
+        long count = counter.getAsLong();
+        if (!isWriteTransaction()) {
+            putIfCurrent(key, count, gen);
+        } else {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    putIfCurrent(key, count, gen);
+                }
+            });
+        }
+        return count;
+    }
+
+    public void invalidate(String entityName) {
+        generation.incrementAndGet();
+        counts.keySet().removeIf(key -> key.startsWith(entityName + ":"));
+    }
+
+    /**
+     * 조건 있는 키만 무효화 (전체 count "엔티티명:all" 은 유지)
+     */
+    public void invalidateFiltered(String entityName) {
+        generation.incrementAndGet();
+        String all = entityName + ":all";
+        counts.keySet().removeIf(key -> key.startsWith(entityName + ":") && !key.equals(all));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true) //커밋 후 (트랜잭션 없으면 즉시)
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.isCountChanged()) {
+            invalidate("Member");
+        } else {
+            invalidateFiltered("Member");
+        }
+    }
+
+    private void putIfCurrent(String key, long count, long gen) {
+        if (gen == generation.get()) {
+            counts.put(key, new Entry(count, System.nanoTime()));
+        }
+    }
+
+    private static boolean isWriteTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static class Entry {
+        private final long count;
+        private final long createdAt;
+
+        private Entry(long count, long createdAt) {
+            this.count = count;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package study.datajpa.repository.count;
+
+/**
+ * Page 조회 시 전체 개수(count) 구하는 방법
+ */
+public enum CountMode {
+    /**
+     * 매번 count 쿼리 (기본 Spring Data 동작)
+     */
+    EXACT,
+    /**
+     * 쿼리 모양(조건)별로 TTL 동안 캐시. 회원 등록/삭제 시 무효화
+     */
+    CACHED,
+    /**
+     * DB 통계의 추정 행 수 사용 (조건 없는 전체 count만 가능, 조건 있으면 CACHED로 동작)
+     */
+    ESTIMATED
+}
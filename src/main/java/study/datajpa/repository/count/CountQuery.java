@@ -0,0 +1,35 @@
+package study.datajpa.repository.count;
+
+import lombok.Getter;
+
+import java.util.function.LongSupplier;
+
+/**
+ * count 쿼리 정의
+ * - key: 캐시 키 = "엔티티명:쿼리 모양" (ex. "Member:age=10") -> 엔티티명 단위로 무효화
+ * - table: 조건 없는 전체 count인 경우 테이블명 (추정치 사용 가능), 조건 있으면 null
+ */
+@Getter
+public class CountQuery {
+    private final String key;
+    private final String table;
+    private final LongSupplier exact;
+
+    private CountQuery(String key, String table, LongSupplier exact) {
+        this.key = key;
+        this.table = table;
+        this.exact = exact;
+    }
+
+    public static CountQuery of(String entityName, String shape, LongSupplier exact) {
+        return new CountQuery(entityName + ":" + shape, null, exact);
+    }
+
+    public static CountQuery ofTable(String entityName, String table, LongSupplier exact) {
+        return new CountQuery(entityName + ":all", table, exact);
+    }
+
+    public boolean isWholeTable() {
+        return table != null;
+    }
+}
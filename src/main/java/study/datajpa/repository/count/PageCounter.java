@@ -0,0 +1,120 @@
+package study.datajpa.repository.count;
+
+import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.repository.concurrent.ReadOnlyExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * content 쿼리 + count 전략(CountMode) -> Page 생성
+ * - PageableExecutionUtils: 첫 페이지가 size보다 작거나 마지막 페이지면 count 쿼리 생략
+ * - datajpa.count.parallel=true : count 쿼리를 별도 스레드/별도 읽기 전용 트랜잭션(= 별도 커넥션)에서 content와 동시에 실행
+ *   -> @ParallelCount 리포지토리 메서드도 같은 스레드 풀 사용 (getPageWithin, ReadOnlyExecutor)
+ *   -> 쓰기 트랜잭션 안에서는 순차 실행
+ */
+@Slf4j
+@Component
+public class PageCounter {
+    private static final String COUNT = "count query";
+
+    private final CountCache countCache;
+    private final RowCountEstimator rowCountEstimator;
+    private final TransactionTemplate contentTx;
+    private final boolean parallel;
+    private final ReadOnlyExecutor executor;
+
+    public PageCounter(CountCache countCache, RowCountEstimator rowCountEstimator,
+                       PlatformTransactionManager transactionManager, ReadOnlyExecutor executor,
+                       @Value("${datajpa.count.parallel:false}") boolean parallel) {
+        this.countCache = countCache;
+        this.rowCountEstimator = rowCountEstimator;
+        this.contentTx = new TransactionTemplate(transactionManager); //호출한 쪽 트랜잭션 있으면 참여
+        this.contentTx.setReadOnly(true);
+        this.executor = executor;
+        this.parallel = parallel;
+    }
+
+    public <T> Page<T> getPage(Supplier<List<T>> content, Pageable pageable, CountQuery countQuery, CountMode mode) {
+        OptionalLong known = lookup(countQuery, mode);
+        if (known.isPresent()) {
+            return PageableExecutionUtils.getPage(content.get(), pageable, known::getAsLong);
+        }
+        if (!parallel || ReadOnlyExecutor.inWriteTransaction()) { //별도 트랜잭션 count는 커밋 전 변경을 못 봄
+            return PageableExecutionUtils.getPage(content.get(), pageable, () -> count(countQuery, mode));
+        }
+
+        Future<Long> total = executor.submit(() -> count(countQuery, mode));
+        List<T> rows = content.get();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> ReadOnlyExecutor.await(total, COUNT));
+    }
+
+    /**
+     * content와 count 동시 실행 -> 응답 시간 ~ max(content, count)
+     * - content: Slice (size + 1건 조회로 다음 페이지 여부 확인)
+     * - 다음 페이지 없음 -> 전체 수를 이미 앎 -> count 결과 안 기다림
+     * - timeout 안에 count 안 끝남 -> SlicedPage (count 쿼리는 끝까지 실행되고 결과만 버림)
+     */
+    public <T> Page<T> getPageWithin(Supplier<Slice<T>> content, Pageable pageable, LongSupplier count,
+                                     Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Future<Long> total = executor.submit(count::getAsLong);
+        Slice<T> slice;
+        try {
+            slice = contentTx.execute(status -> content.get());
+        } catch (RuntimeException e) {
+            total.cancel(false);
+            throw e;
+        }
+        List<T> rows = slice.getContent();
+        if (!slice.hasNext() && (!rows.isEmpty() || pageable.getOffset() == 0)) {
+            total.cancel(false);
+            return new PageImpl<>(rows, pageable, pageable.getOffset() + rows.size());
+        }
+        try {
+            return new PageImpl<>(rows, pageable, ReadOnlyExecutor.await(total, deadline - System.nanoTime(), COUNT));
+        } catch (TimeoutException e) {
+            total.cancel(false);
+            log.warn("count query timed out after {}ms -> slice", timeout.toMillis());
+            return new SlicedPage<>(rows, pageable, slice.hasNext());
+        }
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * DB 조회 없이 알 수 있는 count (캐시 hit, 추정치)
+     */
+    private OptionalLong lookup(CountQuery countQuery, CountMode mode) {
+        if (mode == CountMode.ESTIMATED && countQuery.isWholeTable()) {
+            return rowCountEstimator.estimate(countQuery.getTable());
+        }
+        if (mode != CountMode.EXACT) {
+            return countCache.get(countQuery.getKey());
+        }
+        return OptionalLong.empty();
+    }
+
+    private long count(CountQuery countQuery, CountMode mode) {
+        if (mode == CountMode.EXACT) {
+            return countQuery.getExact().getAsLong();
+        }
+        return countCache.get(countQuery.getKey(), countQuery.getExact());
+    }
+}
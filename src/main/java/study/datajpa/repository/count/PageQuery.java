@@ -0,0 +1,88 @@
+package study.datajpa.repository.count;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @ParallelCount 메서드의 content/count 메서드 (같은 리포지토리에 선언, 실행은 Spring Data)
+ * - slice: 같은 파라미터 + Slice 반환 -> Spring Data가 size + 1건 조회, count X
+ * - count: Pageable 뺀 파라미터 + 숫자 반환
+ */
+final class PageQuery {
+    private final Method slice;
+    private final Method count;
+    private final int pageableIndex;
+
+    private PageQuery(Method slice, Method count, int pageableIndex) {
+        this.slice = slice;
+        this.count = count;
+        this.pageableIndex = pageableIndex;
+    }
+
+    /**
+     * @throws IllegalStateException 잘못 선언한 @ParallelCount (시작 시점에 확인)
+     */
+    static PageQuery from(Method method) {
+        ParallelCount parallelCount = AnnotatedElementUtils.findMergedAnnotation(method, ParallelCount.class);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int pageableIndex = -1;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (Pageable.class.isAssignableFrom(parameterTypes[i])) {
+                if (pageableIndex >= 0) {
+                    throw unsupported(method, "Pageable 하나만");
+                }
+                pageableIndex = i;
+            }
+        }
+        if (method.getReturnType() != Page.class || pageableIndex < 0) {
+            throw unsupported(method, "Page 반환 + Pageable 파라미터 필요");
+        }
+        Class<?> repository = method.getDeclaringClass();
+        Method slice = companion(method, repository, parallelCount.slice(), parameterTypes);
+        if (!Slice.class.isAssignableFrom(slice.getReturnType()) || Page.class.isAssignableFrom(slice.getReturnType())) {
+            throw unsupported(method, "slice 메서드는 Slice 반환");
+        }
+        List<Class<?>> countTypes = new ArrayList<>(Arrays.asList(parameterTypes));
+        countTypes.remove(pageableIndex);
+        Method count = companion(method, repository, parallelCount.count(), countTypes.toArray(new Class<?>[0]));
+        if (count.getReturnType() != long.class && !Number.class.isAssignableFrom(count.getReturnType())) {
+            throw unsupported(method, "count 메서드는 숫자 반환");
+        }
+        return new PageQuery(slice, count, pageableIndex);
+    }
+
+    private static Method companion(Method method, Class<?> repository, String name, Class<?>[] parameterTypes) {
+        try {
+            return repository.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw unsupported(method, "메서드 없음 " + name + Arrays.toString(parameterTypes));
+        }
+    }
+
+    private static IllegalStateException unsupported(Method method, String reason) {
+        return new IllegalStateException("@ParallelCount 지원 안 함 (" + reason + "): " + method);
+    }
+
+    Pageable pageable(Object[] args) {
+        return (Pageable) args[pageableIndex];
+    }
+
+    @SuppressWarnings("unchecked")
+    Slice<Object> content(Object repository, Object[] args) {
+        return (Slice<Object>) ReflectionUtils.invokeMethod(slice, repository, args);
+    }
+
+    long count(Object repository, Object[] args) {
+        List<Object> countArgs = new ArrayList<>(Arrays.asList(args));
+        countArgs.remove(pageableIndex);
+        return ((Number) ReflectionUtils.invokeMethod(count, repository, countArgs.toArray())).longValue();
+    }
+}
@@ -0,0 +1,33 @@
+package study.datajpa.repository.count;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Page 반환 리포지토리 메서드: content 쿼리와 count 쿼리를 동시에 실행 (ParallelCountInterceptor)
+ * - datajpa.count.parallel=true 일 때만 동작 (기본은 Spring Data 순차 실행)
+ * - content는 slice 메서드, count는 count 메서드로 실행 (둘 다 Spring Data 리포지토리 메서드)
+ * - count가 timeout 안에 안 끝나면 SlicedPage (다음 페이지 여부만 정확)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ParallelCount {
+    /**
+     * content 메서드 이름: 같은 파라미터, Slice 반환 (size + 1건 조회, count 쿼리 X)
+     */
+    String slice();
+
+    /**
+     * count 메서드 이름: Pageable 뺀 파라미터, long 반환
+     */
+    String count();
+
+    /**
+     * count 대기 시간(ms), 0 이하면 datajpa.count.parallel-timeout
+     */
+    long timeoutMillis() default 0;
+}
@@ -0,0 +1,23 @@
+package study.datajpa.repository.count;
+
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.datajpa.repository.RepositoryAdvisors;
+
+import java.time.Duration;
+
+/**
+ * Spring Data 리포지토리의 @ParallelCount 메서드에 ParallelCountInterceptor 적용
+ */
+@Configuration
+public class ParallelCountConfig {
+
+    @Bean
+    public Advisor parallelCountAdvisor(ObjectProvider<PageCounter> pageCounter,
+                                        @Value("${datajpa.count.parallel-timeout:500ms}") Duration timeout) {
+        return RepositoryAdvisors.advisor(ParallelCountInterceptor::supports, new ParallelCountInterceptor(pageCounter, timeout));
+    }
+}
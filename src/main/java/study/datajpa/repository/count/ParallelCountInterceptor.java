@@ -0,0 +1,65 @@
+package study.datajpa.repository.count;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Pageable;
+import study.datajpa.repository.concurrent.ReadOnlyExecutor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ParallelCount 메서드 -> PageCounter.getPageWithin (content/count 동시 실행)
+ * - content(slice 메서드), count(count 메서드) 모두 리포지토리 프록시로 호출 -> 쿼리 생성/실행은 Spring Data
+ * - datajpa.count.parallel=false, Pageable.unpaged() -> 기존 Spring Data 실행
+ * - 쓰기 트랜잭션 안에서 호출 -> 기존 실행 (별도 트랜잭션의 count는 아직 커밋 안 된 변경을 못 봄)
+ */
+public class ParallelCountInterceptor implements MethodInterceptor {
+    //Advisor는 다른 빈보다 먼저 생성됨 -> 처음 사용할 때 가져오기
+    private final ObjectProvider<PageCounter> pageCounter;
+    private final Duration defaultTimeout;
+    private final Map<Method, PageQuery> queries = new ConcurrentHashMap<>();
+
+    public ParallelCountInterceptor(ObjectProvider<PageCounter> pageCounter, Duration defaultTimeout) {
+        this.pageCounter = pageCounter;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /**
+     * @ParallelCount 붙은 메서드인가? (slice/count 메서드가 맞지 않으면 시작 시점에 예외)
+     */
+    static boolean supports(Method method) {
+        if (!AnnotatedElementUtils.hasAnnotation(method, ParallelCount.class)) {
+            return false;
+        }
+        PageQuery.from(method);
+        return true;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        PageCounter counter = pageCounter.getObject();
+        Object[] args = invocation.getArguments();
+        PageQuery query = queries.computeIfAbsent(invocation.getMethod(), PageQuery::from);
+        Pageable pageable = query.pageable(args);
+        if (!counter.isParallel() || pageable == null || pageable.isUnpaged() || ReadOnlyExecutor.inWriteTransaction()) {
+            return invocation.proceed();
+        }
+        Object repository = ((ProxyMethodInvocation) invocation).getProxy();
+        return counter.getPageWithin(
+                () -> query.content(repository, args),
+                pageable,
+                () -> query.count(repository, args),
+                timeout(invocation.getMethod()));
+    }
+
+    private Duration timeout(Method method) {
+        ParallelCount parallelCount = AnnotatedElementUtils.findMergedAnnotation(method, ParallelCount.class);
+        return parallelCount.timeoutMillis() > 0 ? Duration.ofMillis(parallelCount.timeoutMillis()) : defaultTimeout;
+    }
+}
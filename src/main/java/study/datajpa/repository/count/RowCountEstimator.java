@@ -0,0 +1,30 @@
+package study.datajpa.repository.count;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/**
+ * 테이블 전체 행 수 추정치 (DB 통계 정보)
+ * - H2: INFORMATION_SCHEMA.TABLES.ROW_COUNT_ESTIMATE
+ * - 조회 실패(지원 안 하는 DB 등)하면 empty -> 정확한 count로 대체
+ */
+@Component
+@RequiredArgsConstructor
+public class RowCountEstimator {
+    private final JdbcTemplate jdbcTemplate;
+
+    public OptionalLong estimate(String table) {
+        try {
+            Long estimate = jdbcTemplate.queryForObject(
+                    "select row_count_estimate from information_schema.tables where upper(table_name) = upper(?)",
+                    Long.class, table);
+            return estimate == null ? OptionalLong.empty() : OptionalLong.of(estimate);
+        } catch (DataAccessException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.repository.count;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * count 없이 만든 Page (count timeout)
+ * - totalElements = 지금까지 확인된 최소 개수 (다음 페이지 있으면 + 1) -> hasNext/isLast는 Slice와 같게 동작
+ * - totalExact = false 로 구분
+ */
+public class SlicedPage<T> extends PageImpl<T> {
+
+    public SlicedPage(List<T> content, Pageable pageable, boolean hasNext) {
+        super(content, pageable, pageable.getOffset() + content.size() + (hasNext ? 1 : 0));
+    }
+
+    public boolean isTotalExact() {
+        return false;
+    }
+}
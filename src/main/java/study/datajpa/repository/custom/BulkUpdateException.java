@@ -0,0 +1,17 @@
+package study.datajpa.repository.custom;
+
+import lombok.Getter;
+
+/**
+ * 청크 벌크 수정 도중 실패. 이미 커밋된 청크는 그대로 유지됨
+ * -> getProgress().getLastId() 를 resumeAfterId로 넘겨서 재시작
+ */
+@Getter
+public class BulkUpdateException extends RuntimeException {
+    private final BulkUpdateProgress progress;
+
+    public BulkUpdateException(BulkUpdateProgress progress, Throwable cause) {
+        super("bulk update failed after " + progress, cause);
+        this.progress = progress;
+    }
+}
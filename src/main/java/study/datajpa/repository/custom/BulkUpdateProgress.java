@@ -0,0 +1,22 @@
+package study.datajpa.repository.custom;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 청크 단위 벌크 수정 진행 상황
+ * - lastId: 마지막으로 커밋된 청크의 마지막 id -> 실패 시 여기부터 재시작
+ */
+@Getter
+@ToString
+public class BulkUpdateProgress {
+    private final int chunks;
+    private final long updatedRows;
+    private final Long lastId;
+
+    public BulkUpdateProgress(int chunks, long updatedRows, Long lastId) {
+        this.chunks = chunks;
+        this.updatedRows = updatedRows;
+        this.lastId = lastId;
+    }
+}
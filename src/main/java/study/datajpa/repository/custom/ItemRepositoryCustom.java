@@ -0,0 +1,16 @@
+package study.datajpa.repository.custom;
+
+import study.datajpa.entity.Item;
+
+public interface ItemRepositoryCustom {
+    /**
+     * 대량 저장 (id를 외부에서 할당한 Item)
+     * - saveAll(): 이미 있는 id면 merge -> row마다 select 쿼리 1번 + insert/update
+     * - chunk마다 "select id ... where id in (...)" 1번으로 존재 여부 확인 -> 없는 것만 persist (JDBC batch insert)
+     * - 이미 있는 Item: 수정할 컬럼이 없으므로(id, createdDate만 있음) 건너뜀
+     * - chunk마다 등록한 Item만 detach -> 영속성 컨텍스트는 chunk 크기 이상 안 커지고, 호출한 쪽의 영속 엔티티는 그대로
+     *
+     * @return 새로 등록한 개수
+     */
+    int bulkUpsert(Iterable<Item> items);
+}
@@ -0,0 +1,61 @@
+package study.datajpa.repository.custom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.audit.AuditContext;
+import study.datajpa.entity.Item;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+    private final EntityManager em;
+    private final int batchSize;
+
+    public ItemRepositoryImpl(EntityManager em, @Value("${datajpa.bulk.batch-size:1000}") int batchSize) {
+        this.em = em;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public int bulkUpsert(Iterable<Item> items) {
+        return AuditContext.stamped(() -> upsertAll(items)); //등록 시각 하나로 공유
+    }
+
+    private int upsertAll(Iterable<Item> items) {
+        int inserted = 0;
+        List<Item> chunk = new ArrayList<>(batchSize);
+        for (Item item : items) {
+            chunk.add(item);
+            if (chunk.size() == batchSize) {
+                inserted += upsertChunk(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            inserted += upsertChunk(chunk);
+        }
+        return inserted;
+    }
+
+    private int upsertChunk(List<Item> chunk) {
+        Map<String, Item> newItems = new LinkedHashMap<>();
+        for (Item item : chunk) {
+            newItems.putIfAbsent(item.getId(), item); //chunk 안 중복 id 제거
+        }
+
+        List<String> existing = em.createQuery("select i.id from Item i where i.id in :ids", String.class)
+                .setParameter("ids", newItems.keySet())
+                .getResultList();
+        existing.forEach(newItems::remove);
+
+        newItems.values().forEach(em::persist); //id 할당 -> select 없이 insert
+        em.flush(); //JDBC batch insert
+        newItems.values().forEach(em::detach); //여기서 등록한 Item만 내보냄 (em.clear()는 호출한 쪽 엔티티의 미반영 변경까지 버림)
+        return newItems.size();
+    }
+}
@@ -0,0 +1,142 @@
+package study.datajpa.repository.custom;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.audit.AuditContext;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.MemberChangedEvent;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 청크 단위 벌크 수정 (MemberRepository.bulkAgePlus 대안)
+ * - bulkAgePlus: update 쿼리 1번으로 전체 수정 -> 끝날 때까지 락 유지, clearAutomatically로 영속성 컨텍스트 전부 날림
+ * - 여기서는 id 순서로 chunkSize 만큼씩 수정하고 청크마다 커밋 (REQUIRES_NEW) -> 락을 짧게 잡음
+ * - 수정된 회원만 1차 캐시(호출한 쪽 영속성 컨텍스트)와 2차 캐시에서 제거
+ * - 실패하면 BulkUpdateException(마지막 커밋 id) -> resumeAfterId로 이어서 실행
+ * 주의: 호출한 쪽 트랜잭션과 별개로 커밋됨 (호출한 쪽이 롤백해도 수정 유지)
+ */
+@Repository
+public class MemberBulkUpdater {
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate chunkTx;
+    private final ApplicationEventPublisher publisher;
+    private final int defaultChunkSize;
+
+    public MemberBulkUpdater(EntityManager em, EntityManagerFactory emf, PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher publisher,
+                             @Value("${datajpa.bulk.update-chunk-size:1000}") int defaultChunkSize) {
+        this.em = em;
+        this.emf = emf;
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.publisher = publisher;
+        this.defaultChunkSize = defaultChunkSize;
+    }
+
+    public BulkUpdateProgress agePlus(int age) {
+        return agePlus(age, defaultChunkSize, null, progress -> {
+        });
+    }
+
+    /**
+     * age 이상인 회원 나이 + 1 (bulkAgePlus와 같은 결과)
+     *
+     * @param resumeAfterId 이 id 다음부터 처리 (처음이면 null)
+     * @param listener      청크 커밋마다 호출
+     */
+    public BulkUpdateProgress agePlus(int age, int chunkSize, Long resumeAfterId, Consumer<BulkUpdateProgress> listener) {
+        //모든 청크의 lastModifiedDate = 작업 시작 시각
+        return AuditContext.stamped(() -> run(age, chunkSize, resumeAfterId, listener));
+    }
+
+    private BulkUpdateProgress run(int age, int chunkSize, Long resumeAfterId, Consumer<BulkUpdateProgress> listener) {
+        EntityManager callerEm = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+        BulkUpdateProgress progress = new BulkUpdateProgress(0, 0, resumeAfterId);
+        while (true) {
+            Long after = progress.getLastId() == null ? Long.MIN_VALUE : progress.getLastId();
+            Chunk chunk;
+            try {
+                chunk = chunkTx.execute(status -> {
+                    Chunk updated = updateChunk(age, after, chunkSize);
+                    if (updated != null) {
+                        publisher.publishEvent(MemberChangedEvent.bulk()); //청크 트랜잭션 커밋 후 캐시 무효화 (호출한 쪽 롤백과 무관)
+                    }
+                    return updated;
+                });
+            } catch (RuntimeException e) {
+                throw new BulkUpdateException(progress, e);
+            }
+            if (chunk == null) {
+                return progress;
+            }
+
+            evict(callerEm, chunk.ids);
+            progress = new BulkUpdateProgress(progress.getChunks() + 1,
+                    progress.getUpdatedRows() + chunk.updated, chunk.ids.get(chunk.ids.size() - 1));
+            listener.accept(progress);
+        }
+    }
+
+    private Chunk updateChunk(int age, long afterId, int chunkSize) {
+        List<Long> ids = em.createQuery("select m.id from Member m" +
+                        " where m.id > :afterId and m.age >= :age order by m.id", Long.class)
+                .setParameter("afterId", afterId)
+                .setParameter("age", age)
+                .setMaxResults(chunkSize)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return null;
+        }
+        int updated = em.createQuery("update Member m set m.age = m.age + 1, m.version = m.version + 1," +
+                        " m.lastModifiedDate = :now, m.lastModifiedBy = :by" +
+                        " where m.id in :ids and m.age >= :age")
+                .setParameter("now", AuditContext.now())
+                .setParameter("by", AuditContext.currentAuditor())
+                .setParameter("ids", ids)
+                .setParameter("age", age)
+                .executeUpdate();
+        return new Chunk(ids, updated);
+    }
+
+    /**
+     * 수정된 회원만 캐시에서 제거 (em.clear() 처럼 전부 날리지 않음)
+     */
+    private void evict(EntityManager callerEm, List<Long> ids) {
+        for (Long id : ids) {
+            emf.getCache().evict(Member.class, id);
+        }
+        if (callerEm == null) {
+            return;
+        }
+        SessionImplementor session = callerEm.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(Member.class);
+        for (Long id : ids) {
+            Object managed = session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                session.evict(managed);
+            }
+        }
+    }
+
+    private static class Chunk {
+        private final List<Long> ids;
+        private final int updated;
+
+        private Chunk(List<Long> ids, int updated) {
+            this.ids = ids;
+            this.updated = updated;
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package study.datajpa.repository.custom;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
 
 import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Custom 기능에 다 몰아넣지 말고
@@ -23,4 +29,34 @@ public class MemberQueryRepository {
         return em.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    /**
+     * 전체 회원 스트리밍 조회 (내보내기용)
+     * - getResultList(): 전체 row를 List + 영속성 컨텍스트에 올림 -> 데이터 많으면 OOM
+     * - scroll + fetchSize: JDBC에서 fetchSize 만큼씩 가져오고, 처리한 엔티티는 바로 evict -> 메모리 일정
+     * - readOnly: 스냅샷 생성 X, CacheMode.IGNORE: 2차 캐시에 넣지 않음
+     *
+     * @return 처리한 회원 수
+     */
+    @Transactional(readOnly = true)
+    public long streamAll(int fetchSize, Consumer<Member> consumer) {
+        Session session = em.unwrap(Session.class);
+        ScrollableResults results = session.createQuery("select m from Member m order by m.id", Member.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            long count = 0;
+            while (results.next()) {
+                Member member = (Member) results.get(0);
+                consumer.accept(member);
+                session.evict(member);
+                count++;
+            }
+            return count;
+        } finally {
+            results.close();
+        }
+    }
 }
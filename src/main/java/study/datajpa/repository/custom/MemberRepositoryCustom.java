@@ -1,7 +1,13 @@
 package study.datajpa.repository.custom;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import study.datajpa.dto.MemberImportRow;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.count.CountMode;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -11,4 +17,34 @@ import java.util.List;
  */
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
+
+    /**
+     * findAll(pageable) + count 전략 선택 (team 페치 조인)
+     */
+    Page<Member> findMemberPage(Pageable pageable, CountMode countMode);
+
+    /**
+     * 나이 조건 페이징 + count 전략 선택
+     */
+    Page<Member> findPageByAge(int age, Pageable pageable, CountMode countMode);
+
+    /**
+     * 대량 등록: batch-size 마다 flush(JDBC batch insert) + clear(영속성 컨텍스트 비우기)
+     * - rows는 순서대로 한 번만 읽음 -> 스트리밍 입력 그대로 전달 가능
+     * - 전체가 하나의 트랜잭션 (중간에 실패하면 전부 롤백)
+     *
+     * @return 등록한 회원 수
+     */
+    long bulkInsert(Iterator<MemberImportRow> rows);
+
+    /**
+     * findAll(spec) + JPQL 번역 캐시 (MemberSpec 같은 ShapedSpec일 때만 캐시, 아니면 findAll(spec)과 동일)
+     */
+    List<Member> findAllCached(Specification<Member> spec);
+
+    /**
+     * username in :names (컬렉션 파라미터 바인딩)
+     * - 목록이 크면 datajpa.in-list.chunk-size 단위로 나눠 조회 후 합침 (InListChunker)
+     */
+    List<Member> findByNames(List<String> names);
 }
@@ -1,22 +1,132 @@
 package study.datajpa.repository.custom;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.audit.AuditContext;
+import study.datajpa.dto.MemberImportRow;
 import study.datajpa.entity.Member;
+import study.datajpa.entity.MemberChangeListener;
+import study.datajpa.entity.MemberChangedEvent;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.count.CountMode;
+import study.datajpa.repository.count.CountQuery;
+import study.datajpa.repository.chunk.InListChunker;
+import study.datajpa.repository.count.PageCounter;
+import study.datajpa.repository.spec.SpecificationQueryCache;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.Iterator;
 import java.util.List;
 
 /**
  * 규칙 : Spring Data JPA 쓰는 인터페이스 이름 + Impl
  * ex) MemberRepository + Impl
  */
-@RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
     private final EntityManager em;
+    private final PageCounter pageCounter;
+    private final SpecificationQueryCache specificationQueryCache;
+    private final InListChunker inListChunker;
+    private final ApplicationEventPublisher publisher;
+    private final int batchSize;
+
+    public MemberRepositoryImpl(EntityManager em, PageCounter pageCounter, SpecificationQueryCache specificationQueryCache,
+                                InListChunker inListChunker, ApplicationEventPublisher publisher,
+                                @Value("${datajpa.bulk.batch-size:1000}") int batchSize) {
+        this.em = em;
+        this.pageCounter = pageCounter;
+        this.specificationQueryCache = specificationQueryCache;
+        this.inListChunker = inListChunker;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+    }
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    @Override
+    public Page<Member> findMemberPage(Pageable pageable, CountMode countMode) {
+        String jpql = QueryUtils.applySorting("select m from Member m left join fetch m.team t", pageable.getSort(), "m");
+        return pageCounter.getPage(
+                () -> paged(em.createQuery(jpql, Member.class), pageable).getResultList(),
+                pageable,
+                CountQuery.ofTable("Member", "member", () ->
+                        em.createQuery("select count(m) from Member m", Long.class).getSingleResult()),
+                countMode);
+    }
+
+    @Override
+    public Page<Member> findPageByAge(int age, Pageable pageable, CountMode countMode) {
+        String jpql = QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m");
+        return pageCounter.getPage(
+                () -> paged(em.createQuery(jpql, Member.class).setParameter("age", age), pageable).getResultList(),
+                pageable,
+                CountQuery.of("Member", "age=" + age, () ->
+                        em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                                .setParameter("age", age)
+                                .getSingleResult()),
+                countMode);
+    }
+
+    @Override
+    @Transactional
+    public long bulkInsert(Iterator<MemberImportRow> rows) {
+        //등록 시각 하나로 공유, 회원별 변경 이벤트 대신 끝나고 bulk 이벤트 한 번 (커밋 후 캐시 무효화)
+        long count = AuditContext.stamped(() -> MemberChangeListener.suppressed(() -> insertAll(rows)));
+        if (count > 0) {
+            publisher.publishEvent(MemberChangedEvent.bulk());
+        }
+        return count;
+    }
+
+    private long insertAll(Iterator<MemberImportRow> rows) {
+        long count = 0;
+        while (rows.hasNext()) {
+            MemberImportRow row = rows.next();
+            Member member = new Member(row.getUsername(), row.getAge());
+            if (row.getTeamId() != null) {
+                //프록시만 세팅 (changeTeam()은 team.members 컬렉션을 건드려서 팀 조회 쿼리 나감)
+                member.setTeam(em.getReference(Team.class, row.getTeamId()));
+            }
+            em.persist(member);
+
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+
+    @Override
+    public List<Member> findAllCached(Specification<Member> spec) {
+        return specificationQueryCache.findAll(Member.class, spec);
+    }
+
+    @Override
+    public List<Member> findByNames(List<String> names) {
+        return inListChunker.query(names, chunk ->
+                em.createQuery("select m from Member m where m.username in :names", Member.class)
+                        .setParameter("names", chunk)
+                        .getResultList());
+    }
+
+    private static <T> TypedQuery<T> paged(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
 }
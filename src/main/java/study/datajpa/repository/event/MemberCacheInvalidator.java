@@ -0,0 +1,32 @@
+package study.datajpa.repository.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.datajpa.entity.MemberChangedEvent;
+
+import java.util.List;
+
+/**
+ * MemberChangedEvent -> 회원 캐시(MemberChangeAware 빈 전부) 무효화
+ * - 캐시마다 리스너를 두지 않고 하나로: 이벤트 하나당 트랜잭션 동기화 객체 하나
+ * - id == null (벌크) -> 전체, 아니면 해당 id
+ */
+@Component
+public class MemberCacheInvalidator {
+    private final List<MemberChangeAware> caches;
+
+    public MemberCacheInvalidator(List<MemberChangeAware> caches) {
+        this.caches = caches;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true) //커밋 후 (트랜잭션 없으면 즉시)
+    public void onMemberChanged(MemberChangedEvent event) {
+        for (MemberChangeAware cache : caches) {
+            if (event.getId() == null) {
+                cache.allMembersChanged();
+            } else {
+                cache.memberChanged(event.getId());
+            }
+        }
+    }
+}
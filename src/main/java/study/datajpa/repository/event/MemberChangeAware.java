@@ -0,0 +1,17 @@
+package study.datajpa.repository.event;
+
+/**
+ * 회원 id로 무효화하는 캐시 (MemberCacheInvalidator가 변경 커밋 후 호출)
+ */
+public interface MemberChangeAware {
+
+    /**
+     * 해당 회원이 등록/수정/삭제됨
+     */
+    void memberChanged(Long id);
+
+    /**
+     * 어떤 회원이 바뀌었는지 모름 (벌크 연산) -> 전체 무효화
+     */
+    void allMembersChanged();
+}
@@ -0,0 +1,30 @@
+package study.datajpa.repository.event;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원 변경(등록/수정/삭제, 벌크) 커밋 횟수 -> 목록 ETag용
+ * - max(lastModifiedDate)로는 삭제를 알 수 없음 -> 커밋마다 올라가는 카운터로 구분 (DB 조회 X)
+ * - 인스턴스마다 시작 시각(epoch)을 붙임 -> 재시작/다른 인스턴스의 카운터 값과 겹쳐도 ETag가 같아지지 않음
+ */
+@Component
+public class MemberChangeCounter implements MemberChangeAware {
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong changes = new AtomicLong();
+
+    @Override
+    public void memberChanged(Long id) {
+        changes.incrementAndGet();
+    }
+
+    @Override
+    public void allMembersChanged() {
+        changes.incrementAndGet();
+    }
+
+    public String getVersion() {
+        return epoch + "." + changes.get();
+    }
+}
@@ -0,0 +1,49 @@
+package study.datajpa.repository.event;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.Repository;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.MemberChangedEvent;
+import study.datajpa.repository.RepositoryAdvisors;
+
+import java.lang.reflect.Method;
+
+/**
+ * Member 리포지토리의 @Modifying 쿼리(bulkAgePlus ...), deleteInBatch/deleteAllInBatch 실행 후 MemberChangedEvent.bulk() 발행
+ * - 벌크 연산(JPQL update/delete)은 엔티티 리스너(MemberChangeListener)를 거치지 않음 -> 캐시(count, near-cache ...) 무효화가 빠지지 않게
+ * - deleteInBatch 등은 JpaRepository에 선언 -> Member 리포지토리 여부는 메서드가 아닌 프록시 대상 클래스로 판별
+ * - 호출한 쪽 트랜잭션이 있으면 커밋 후 반영 (@TransactionalEventListener)
+ */
+@Configuration
+public class ModifyingQueryEventConfig {
+
+    @Bean
+    public Advisor modifyingQueryEventAdvisor(ApplicationEventPublisher publisher) {
+        MethodInterceptor interceptor = invocation -> {
+            Object result = invocation.proceed();
+            publisher.publishEvent(MemberChangedEvent.bulk());
+            return result;
+        };
+        return RepositoryAdvisors.advisor(ModifyingQueryEventConfig::isMemberRepository,
+                ModifyingQueryEventConfig::isBulkOperation, interceptor);
+    }
+
+    private static boolean isMemberRepository(Class<?> type) {
+        return RepositoryAdvisors.SPRING_DATA.matches(type)
+                && ResolvableType.forClass(type).as(Repository.class).resolveGeneric(0) == Member.class;
+    }
+
+    private static boolean isBulkOperation(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Modifying.class)
+                || (JpaRepository.class.isAssignableFrom(method.getDeclaringClass())
+                && (method.getName().equals("deleteInBatch") || method.getName().equals("deleteAllInBatch")));
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.repository.lookup;
+
+import lombok.Getter;
+import study.datajpa.dto.MemberDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * near-cache에 저장하는 회원 스냅샷 (불변)
+ * - version, lastModifiedDate 도 같이 -> 조건부 GET(ETag/Last-Modified) 확인도 캐시에서 (DB 조회 X)
+ */
+@Getter
+public class CachedMember {
+    private final Long id;
+    private final String username;
+    private final String teamName;
+    private final Long version;
+    private final LocalDateTime lastModifiedDate;
+
+    public CachedMember(Long id, String username, String teamName, Long version, LocalDateTime lastModifiedDate) {
+        this.id = id;
+        this.username = username;
+        this.teamName = teamName;
+        this.version = version;
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    //MemberDto는 setter가 있음 -> 꺼낼 때마다 새로 만들어서 캐시 값이 바뀌지 않게
+    public MemberDto toDto() {
+        return new MemberDto(id, username, teamName);
+    }
+}
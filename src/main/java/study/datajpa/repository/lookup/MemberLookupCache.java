@@ -0,0 +1,84 @@
+package study.datajpa.repository.lookup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.datajpa.cache.NearCache;
+import study.datajpa.cache.NearCacheStats;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.repository.event.MemberChangeAware;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 회원 id/username 조회 near-cache (읽기 전용 조회용)
+ * - 엔티티는 영속성 컨텍스트마다 달라야 해서 공유 X -> 불변 스냅샷(CachedMember)을 캐시, MemberDto는 꺼낼 때마다 새로
+ * - 스냅샷에 version, lastModifiedDate 포함 -> 조건부 GET도 DB 조회 없이 (MemberController.findMember)
+ * - 없는 id도 캐시 (Optional.empty) -> 등록 이벤트로 무효화
+ * - 무효화 (커밋 후 MemberChangedEvent, MemberCacheInvalidator)
+ *   - id 캐시: 해당 id만, 벌크 -> 전체
+ *   - username 캐시: 모든 변경에 전체 (등록/이름 변경은 어느 username 목록에 들어갈지 모름)
+ * - 팀 이름 변경은 이벤트가 없음 -> TTL 만큼 이전 팀 이름 보일 수 있음
+ * - 리포지토리의 findMemberByUsername/findOptionalByUsername은 엔티티를 반환 -> 캐시 X (조회 전용 호출은 이 클래스 사용)
+ */
+@Component
+public class MemberLookupCache implements MemberChangeAware {
+    private final EntityManager em;
+    private final NearCache<Long, Optional<CachedMember>> byId;
+    private final NearCache<String, List<CachedMember>> byUsername;
+
+    public MemberLookupCache(EntityManager em,
+                             @Value("${datajpa.near-cache.max-size:10000}") int maxSize,
+                             @Value("${datajpa.near-cache.ttl:60s}") Duration ttl) {
+        this.em = em;
+        this.byId = new NearCache<>("memberById", maxSize, ttl);
+        this.byUsername = new NearCache<>("memberByUsername", maxSize, ttl);
+    }
+
+    public Optional<MemberDto> findById(Long id) {
+        return findCachedById(id).map(CachedMember::toDto);
+    }
+
+    public Optional<CachedMember> findCachedById(Long id) {
+        return byId.get(id, () -> em.createQuery("select new study.datajpa.repository.lookup.CachedMember(" +
+                        "m.id, m.username, t.name, m.version, m.lastModifiedDate)" +
+                        " from Member m left join m.team t where m.id = :id", CachedMember.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst());
+    }
+
+    public List<MemberDto> findByUsername(String username) {
+        List<CachedMember> members = byUsername.get(username, () -> List.copyOf(em.createQuery(
+                        "select new study.datajpa.repository.lookup.CachedMember(" +
+                        "m.id, m.username, t.name, m.version, m.lastModifiedDate)" +
+                        " from Member m left join m.team t where m.username = :username order by m.id", CachedMember.class)
+                .setParameter("username", username)
+                .getResultList()));
+        List<MemberDto> result = new ArrayList<>(members.size());
+        for (CachedMember member : members) {
+            result.add(member.toDto());
+        }
+        return result;
+    }
+
+    public List<NearCacheStats> stats() {
+        return Arrays.asList(byId.stats(), byUsername.stats());
+    }
+
+    @Override
+    public void memberChanged(Long id) {
+        byId.invalidate(id);
+        byUsername.clear();
+    }
+
+    @Override
+    public void allMembersChanged() {
+        byId.clear();
+        byUsername.clear();
+    }
+}
@@ -0,0 +1,157 @@
+package study.datajpa.repository.projections;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * 메서드 이름 쿼리 중 ProjectionPlan으로 직접 실행할 수 있는 것
+ * - List 또는 Optional(단건) 반환 + 인터페이스 Projection (정적 반환 타입 or 동적 Class 파라미터)
+ * - 조건은 단순 equals의 and/or 조합만 (findProjectionsByUsername, findAllProjectedBy ...)
+ * - @Query, @EntityGraph, @Lock, 페이징/정렬/limit/distinct -> 대상 아님
+ */
+final class DerivedProjectionQuery {
+    private final Class<?> entityType;
+    private final Class<?> projectionType; //정적 반환 타입 (동적이면 null)
+    private final int projectionParameter; //동적 Class 파라미터 위치 (없으면 -1)
+    private final String where;
+    private final boolean single; //Optional 반환
+
+    private DerivedProjectionQuery(Class<?> entityType, Class<?> projectionType, int projectionParameter, String where,
+                                   boolean single) {
+        this.entityType = entityType;
+        this.projectionType = projectionType;
+        this.projectionParameter = projectionParameter;
+        this.where = where;
+        this.single = single;
+    }
+
+    static Optional<DerivedProjectionQuery> from(Method method) {
+        Class<?> repository = method.getDeclaringClass();
+        boolean single = method.getReturnType() == Optional.class;
+        if ((method.getReturnType() != List.class && !single) || !repository.isInterface() || !Repository.class.isAssignableFrom(repository)
+                || AnnotatedElementUtils.hasAnnotation(method, Query.class)
+                || AnnotatedElementUtils.hasAnnotation(method, EntityGraph.class)
+                || AnnotatedElementUtils.hasAnnotation(method, Lock.class)) {
+            return Optional.empty();
+        }
+        Class<?> entityType = ResolvableType.forClass(repository).as(Repository.class).resolveGeneric(0);
+        if (entityType == null) {
+            return Optional.empty();
+        }
+
+        int projectionParameter = -1;
+        int values = 0;
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i] == Class.class && projectionParameter < 0) {
+                projectionParameter = i;
+            } else if (parameterTypes[i] == Class.class || Pageable.class.isAssignableFrom(parameterTypes[i])
+                    || Sort.class.isAssignableFrom(parameterTypes[i])) {
+                return Optional.empty();
+            } else {
+                values++;
+            }
+        }
+        Class<?> projectionType = null;
+        if (projectionParameter < 0) {
+            projectionType = ResolvableType.forMethodReturnType(method).resolveGeneric(0);
+            if (projectionType == null || !projectionType.isInterface()) {
+                return Optional.empty();
+            }
+        }
+
+        PartTree tree;
+        try {
+            tree = new PartTree(method.getName(), entityType);
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+        if (tree.isDelete() || tree.isCountProjection() || tree.isExistsProjection() || tree.isDistinct()
+                || tree.isLimiting() || tree.getSort().isSorted()) {
+            return Optional.empty();
+        }
+        StringJoiner or = new StringJoiner(" or ");
+        int position = 0;
+        for (PartTree.OrPart orPart : tree) {
+            StringJoiner and = new StringJoiner(" and ", "(", ")");
+            for (Part part : orPart) {
+                if (part.getType() != Part.Type.SIMPLE_PROPERTY || part.shouldIgnoreCase() != Part.IgnoreCaseType.NEVER) {
+                    return Optional.empty();
+                }
+                and.add(ProjectionPlanner.ROOT + "." + part.getProperty().toDotPath() + " = ?" + (++position));
+            }
+            or.add(and.toString());
+        }
+        if (position != values) {
+            return Optional.empty();
+        }
+        String where = position == 0 ? "" : " where " + or;
+        return Optional.of(new DerivedProjectionQuery(entityType, projectionType, projectionParameter, where, single));
+    }
+
+    Class<?> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * 이번 호출의 Projection 타입 (동적 Class 파라미터가 null이면 null)
+     */
+    Class<?> projectionType(Object[] args) {
+        return projectionParameter < 0 ? projectionType : (Class<?>) args[projectionParameter];
+    }
+
+    /**
+     * null 파라미터는 "is null" 조건이 필요 -> 직접 실행 X
+     */
+    boolean hasNullParameter(Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (i != projectionParameter && args[i] == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * List 반환 -> List, Optional 반환 -> Optional (2건 이상이면 Spring Data와 같은 예외)
+     */
+    Object execute(EntityManager em, ProjectionPlan plan, Object[] args) {
+        TypedQuery<Tuple> query = em.createQuery(plan.jpql(where), Tuple.class);
+        int position = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (i != projectionParameter) {
+                query.setParameter(++position, args[i]);
+            }
+        }
+        List<Tuple> rows = query.getResultList();
+        if (single) {
+            if (rows.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, rows.size());
+            }
+            return rows.isEmpty() ? Optional.empty() : Optional.of(plan.createProjection(rows.get(0).toArray()));
+        }
+        List<Object> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            result.add(plan.createProjection(row.toArray()));
+        }
+        return result;
+    }
+}
@@ -2,11 +2,13 @@ package study.datajpa.repository.projections;
 
 /**
  * Projection : 중첩 구조 처리
+ * - Spring Data 기본: 루트(Member)는 필요한 컬럼만, 중첩(Team)은 엔티티 전체 select
+ * - ProjectionPlanner: select m.username, j1.id, j1.name ... left join m.team j1 한 번으로 평탄하게 조회
  */
 public interface NestedClosedProjections {
     String getUsername(); // 최적화 가능
 
-    TeamInfo getTeam(); // 최적화 불가능
+    TeamInfo getTeam(); // 기본은 최적화 불가능 -> ProjectionPlanner가 name만 조회
 
     interface TeamInfo {
         String getName();
@@ -0,0 +1,92 @@
+package study.datajpa.repository.projections;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인터페이스 Projection 실행 계획 (ProjectionPlanner가 타입마다 한 번 생성)
+ * - select 절: getter(@Value 포함)가 참조하는 경로만 -> 닫힌(closed) JPQL
+ * - getter 값은 조회한 행(Object[])에서 바로 계산 -> 엔티티 로딩 X, SpEL 평가 X
+ */
+public class ProjectionPlan {
+    private final Class<?> projectionType;
+    private final String entityName;
+    private final List<String> selections;
+    private final List<String> joins;
+    private final Map<Method, ValueReader> readers;
+
+    ProjectionPlan(Class<?> projectionType, String entityName, List<String> selections,
+                   List<String> joins, Map<Method, ValueReader> readers) {
+        this.projectionType = projectionType;
+        this.entityName = entityName;
+        this.selections = List.copyOf(selections);
+        this.joins = List.copyOf(joins);
+        this.readers = Map.copyOf(readers);
+    }
+
+    /**
+     * @param where 조건 절 (ex. " where m.username = ?1"), 루트 별칭은 m
+     */
+    public String jpql(String where) {
+        StringBuilder jpql = new StringBuilder("select ").append(String.join(", ", selections))
+                .append(" from ").append(entityName).append(" ").append(ProjectionPlanner.ROOT);
+        for (String join : joins) {
+            jpql.append(" ").append(join);
+        }
+        return jpql.append(where).toString();
+    }
+
+    public List<String> getSelections() {
+        return selections;
+    }
+
+    public Object createProjection(Object[] row) {
+        return proxy(projectionType, readers, row);
+    }
+
+    static Object proxy(Class<?> type, Map<Method, ValueReader> readers, Object[] row) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new RowHandler(type, readers, row));
+    }
+
+    /**
+     * 행 -> getter 값
+     */
+    @FunctionalInterface
+    interface ValueReader {
+        Object read(Object[] row);
+    }
+
+    private static class RowHandler implements InvocationHandler {
+        private final Class<?> type;
+        private final Map<Method, ValueReader> readers;
+        private final Object[] row;
+
+        private RowHandler(Class<?> type, Map<Method, ValueReader> readers, Object[] row) {
+            this.type = type;
+            this.readers = readers;
+            this.row = row;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            ValueReader reader = readers.get(method);
+            if (reader != null) {
+                return reader.read(row);
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + Arrays.toString(row);
+                default:
+                    throw new UnsupportedOperationException(method.toString());
+            }
+        }
+    }
+}
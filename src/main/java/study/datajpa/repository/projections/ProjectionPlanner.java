@@ -0,0 +1,292 @@
+package study.datajpa.repository.projections;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.CompoundExpression;
+import org.springframework.expression.spel.ast.Literal;
+import org.springframework.expression.spel.ast.OpPlus;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import study.datajpa.repository.projections.ProjectionPlan.ValueReader;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 인터페이스 Projection 분석 -> ProjectionPlan (엔티티, Projection 타입마다 한 번만 분석 후 캐시)
+ * <p>
+ * 지원
+ * - 닫힌 Projection getter: getUsername() -> m.username
+ * - 열린 Projection 중 단순 SpEL: target.경로, 문자열/숫자 리터럴, 문자열 + 연결
+ * ex) #{target.username + ' ' + target.age + ' ' + target.team.name} -> select m.username, m.age, j1.name ... left join m.team j1
+ * - 중첩 닫힌 Projection: TeamInfo getTeam() -> 팀 엔티티 전체 대신 j1.id, j1.name 만 (id는 팀 없음 판별용)
+ * <p>
+ * 그 외(메서드 호출, 숫자 연산, 컬렉션, default 메서드 ...) -> Optional.empty() -> Spring Data 기본 방식 사용
+ * 차이: 연관 엔티티가 null이면 SpEL은 예외, 여기서는 left join 결과 그대로 null
+ */
+@Slf4j
+@Component
+public class ProjectionPlanner {
+    static final String ROOT = "m";
+    private static final String TARGET = "target";
+
+    private final Metamodel metamodel;
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final Map<Class<?>, Map<Class<?>, Optional<ProjectionPlan>>> plans = new ConcurrentHashMap<>();
+
+    public ProjectionPlanner(EntityManagerFactory emf) {
+        this.metamodel = emf.getMetamodel();
+    }
+
+    public Optional<ProjectionPlan> plan(Class<?> entityType, Class<?> projectionType) {
+        return plans.computeIfAbsent(entityType, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(projectionType, type -> build(entityType, type));
+    }
+
+    private Optional<ProjectionPlan> build(Class<?> entityType, Class<?> projectionType) {
+        if (!projectionType.isInterface()) {
+            return Optional.empty();
+        }
+        try {
+            EntityType<?> entity = metamodel.entity(entityType);
+            Builder builder = new Builder(entity);
+            Map<Method, ValueReader> readers = builder.readers(projectionType, "");
+            if (builder.selections.isEmpty()) {
+                throw new UnsupportedProjectionException("조회할 컬럼 없음");
+            }
+            return Optional.of(new ProjectionPlan(projectionType, entity.getName(), builder.selections, builder.joins, readers));
+        } catch (UnsupportedProjectionException | IllegalArgumentException | ParseException e) {
+            log.debug("projection {} -> 기본 방식 사용: {}", projectionType.getName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Projection 하나의 select 절, join 절, getter별 ValueReader 생성
+     * - 같은 경로는 한 번만 select, 같은 연관관계는 한 번만 join
+     */
+    private class Builder {
+        private final EntityType<?> root;
+        private final List<String> selections = new ArrayList<>();
+        private final List<String> joins = new ArrayList<>();
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final Map<String, String> aliases = new LinkedHashMap<>();
+
+        private Builder(EntityType<?> root) {
+            this.root = root;
+        }
+
+        /**
+         * @param prefix 중첩 Projection의 엔티티 경로 (루트는 "", 팀은 "team.")
+         */
+        private Map<Method, ValueReader> readers(Class<?> type, String prefix) {
+            Map<Method, ValueReader> readers = new HashMap<>();
+            for (Method method : type.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                PropertyDescriptor property = BeanUtils.findPropertyForMethod(method);
+                if (method.isDefault() || property == null || !method.equals(property.getReadMethod())) {
+                    throw new UnsupportedProjectionException("getter가 아닌 메서드: " + method.getName());
+                }
+                Value value = AnnotationUtils.findAnnotation(method, Value.class);
+                Term term;
+                if (value != null) {
+                    term = expression(value.value(), prefix);
+                } else if (method.getReturnType().isInterface()) {
+                    term = nested(method.getReturnType(), prefix + property.getName());
+                } else {
+                    term = column(prefix + property.getName());
+                }
+                if (!ClassUtils.isAssignable(method.getReturnType(), term.type)) {
+                    throw new UnsupportedProjectionException("반환 타입 불일치: " + method.getName());
+                }
+                readers.put(method, term.reader);
+            }
+            return readers;
+        }
+
+        /**
+         * 중첩 Projection: 같은 행에서 값을 읽는 프록시 (연관 엔티티 없으면 null)
+         */
+        private Term nested(Class<?> type, String path) {
+            Joined joined = association(path);
+            if (!(joined.type instanceof EntityType)) {
+                throw new UnsupportedProjectionException("엔티티 아님: " + path);
+            }
+            ValueReader id = column(path + "." + idName((EntityType<?>) joined.type)).reader;
+            Map<Method, ValueReader> readers = Map.copyOf(readers(type, path + "."));
+            return new Term(row -> id.read(row) == null ? null : ProjectionPlan.proxy(type, readers, row), type);
+        }
+
+        private Term expression(String value, String prefix) {
+            return term(parser.parseExpression(value, ParserContext.TEMPLATE_EXPRESSION), prefix);
+        }
+
+        private Term term(Expression expression, String prefix) {
+            if (expression instanceof SpelExpression) {
+                return node(((SpelExpression) expression).getAST(), prefix);
+            }
+            if (expression instanceof LiteralExpression) {
+                String text = expression.getExpressionString();
+                return new Term(row -> text, String.class);
+            }
+            if (expression instanceof CompositeStringExpression) { //"문자열 #{...} 문자열"
+                List<ValueReader> parts = new ArrayList<>();
+                for (Expression part : ((CompositeStringExpression) expression).getExpressions()) {
+                    parts.add(term(part, prefix).reader);
+                }
+                return concat(parts);
+            }
+            throw new UnsupportedProjectionException(expression.getExpressionString());
+        }
+
+        private Term node(SpelNode node, String prefix) {
+            if (node instanceof Literal) {
+                Object literal = ((Literal) node).getLiteralValue().getValue();
+                return new Term(row -> literal, literal == null ? Object.class : literal.getClass());
+            }
+            if (node instanceof CompoundExpression || node instanceof PropertyOrFieldReference) {
+                return column(prefix + targetPath(node));
+            }
+            if (node instanceof OpPlus && node.getChildCount() == 2) {
+                Term left = node(node.getChild(0), prefix);
+                Term right = node(node.getChild(1), prefix);
+                if (left.type != String.class && right.type != String.class) { //숫자 덧셈은 SpEL 변환 규칙이 달라서 제외
+                    throw new UnsupportedProjectionException("문자열 연결 아님: " + node.toStringAST());
+                }
+                return concat(List.of(left.reader, right.reader));
+            }
+            throw new UnsupportedProjectionException(node.toStringAST());
+        }
+
+        /**
+         * target.team.name -> team.name
+         */
+        private String targetPath(SpelNode node) {
+            List<String> names = new ArrayList<>();
+            if (node instanceof PropertyOrFieldReference) {
+                names.add(((PropertyOrFieldReference) node).getName());
+            }
+            for (int i = 0; i < node.getChildCount(); i++) {
+                if (!(node.getChild(i) instanceof PropertyOrFieldReference)) {
+                    throw new UnsupportedProjectionException(node.toStringAST());
+                }
+                names.add(((PropertyOrFieldReference) node.getChild(i)).getName());
+            }
+            if (names.size() < 2 || !TARGET.equals(names.get(0))) {
+                throw new UnsupportedProjectionException(node.toStringAST());
+            }
+            return String.join(".", names.subList(1, names.size()));
+        }
+
+        /**
+         * 엔티티 경로 -> select 컬럼 (중간 연관관계는 left join)
+         */
+        private Term column(String path) {
+            int dot = path.lastIndexOf('.');
+            Joined joined = dot < 0 ? new Joined(root, ROOT) : association(path.substring(0, dot));
+            Attribute<?, ?> attribute = joined.type.getAttribute(path.substring(dot + 1));
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                throw new UnsupportedProjectionException("기본 타입 속성 아님: " + path);
+            }
+            int index = columns.computeIfAbsent(joined.alias + "." + attribute.getName(), selection -> {
+                selections.add(selection);
+                return selections.size() - 1;
+            });
+            return new Term(row -> row[index], attribute.getJavaType());
+        }
+
+        /**
+         * 연관관계 경로(team, team.x ...) -> left join 별칭과 대상 타입
+         */
+        private Joined association(String path) {
+            ManagedType<?> type = root;
+            String alias = ROOT;
+            String joined = "";
+            for (String name : path.split("\\.")) {
+                Attribute<?, ?> association = type.getAttribute(name);
+                if (!association.isAssociation() || association.isCollection()) {
+                    throw new UnsupportedProjectionException("단일 연관관계 아님: " + path);
+                }
+                joined = joined.isEmpty() ? name : joined + "." + name;
+                alias = join(alias, name, joined);
+                type = metamodel.managedType(association.getJavaType());
+            }
+            return new Joined(type, alias);
+        }
+
+        private String join(String parentAlias, String name, String path) {
+            return aliases.computeIfAbsent(path, p -> {
+                String alias = "j" + (aliases.size() + 1);
+                joins.add("left join " + parentAlias + "." + name + " " + alias);
+                return alias;
+            });
+        }
+    }
+
+    private static String idName(EntityType<?> entity) {
+        return entity.getId(entity.getIdType().getJavaType()).getName();
+    }
+
+    private static Term concat(List<ValueReader> parts) {
+        return new Term(row -> {
+            StringBuilder sb = new StringBuilder();
+            for (ValueReader part : parts) {
+                sb.append(part.read(row)); //null -> "null" (SpEL 문자열 연결과 동일)
+            }
+            return sb.toString();
+        }, String.class);
+    }
+
+    private static class Term {
+        private final ValueReader reader;
+        private final Class<?> type;
+
+        private Term(ValueReader reader, Class<?> type) {
+            this.reader = reader;
+            this.type = type;
+        }
+    }
+
+    private static class Joined {
+        private final ManagedType<?> type;
+        private final String alias;
+
+        private Joined(ManagedType<?> type, String alias) {
+            this.type = type;
+            this.alias = alias;
+        }
+    }
+
+    private static class UnsupportedProjectionException extends RuntimeException {
+        private UnsupportedProjectionException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package study.datajpa.repository.projections;
+
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.datajpa.repository.RepositoryAdvisors;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Spring Data 리포지토리의 Projection 메서드 이름 쿼리에 ProjectionQueryInterceptor 적용
+ * - 대상 메서드 판별은 애플리케이션 시작 시점(프록시 생성)에 한 번
+ */
+@Configuration
+public class ProjectionQueryConfig {
+
+    @Bean
+    public Advisor projectionQueryAdvisor(ObjectProvider<EntityManager> em,
+                                          ObjectProvider<ProjectionPlanner> projectionPlanner,
+                                          ObjectProvider<PlatformTransactionManager> transactionManager) {
+        return RepositoryAdvisors.advisor(ProjectionQueryInterceptor::supports,
+                new ProjectionQueryInterceptor(em, projectionPlanner, transactionManager));
+    }
+}
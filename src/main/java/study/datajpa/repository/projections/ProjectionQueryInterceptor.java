@@ -0,0 +1,76 @@
+package study.datajpa.repository.projections;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 인터페이스 Projection을 반환하는 메서드 이름 쿼리 -> ProjectionPlan의 닫힌 select로 직접 실행
+ * - ex) findProjectionsByUsername("m1", UsernameOnly.class): 엔티티 + 지연 로딩 Team 조회 대신 필요한 컬럼만 한 번에
+ * - 계획 불가능한 경우(DTO 클래스, 복잡한 SpEL, null 파라미터 ...) -> 기존 Spring Data 실행
+ * - 리포지토리 프록시 바깥에서 실행되므로 리포지토리와 같게: 읽기 전용 트랜잭션(-> replica 라우팅) + JPA 예외 변환
+ */
+public class ProjectionQueryInterceptor implements MethodInterceptor {
+    //Advisor는 다른 빈보다 먼저 생성됨 -> EntityManagerFactory는 처음 사용할 때 가져오기
+    private final ObjectProvider<EntityManager> em;
+    private final ObjectProvider<ProjectionPlanner> planner;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private final Map<Method, Optional<DerivedProjectionQuery>> queries = new ConcurrentHashMap<>();
+    private volatile TransactionTemplate readOnlyTx;
+
+    public ProjectionQueryInterceptor(ObjectProvider<EntityManager> em, ObjectProvider<ProjectionPlanner> planner,
+                                      ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.em = em;
+        this.planner = planner;
+        this.transactionManager = transactionManager;
+    }
+
+    static boolean supports(Method method) {
+        return DerivedProjectionQuery.from(method).isPresent();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Optional<DerivedProjectionQuery> query = queries.computeIfAbsent(invocation.getMethod(), DerivedProjectionQuery::from);
+        Object[] args = invocation.getArguments();
+        if (query.isEmpty() || query.get().hasNullParameter(args)) {
+            return invocation.proceed();
+        }
+        Class<?> projectionType = query.get().projectionType(args);
+        Optional<ProjectionPlan> plan = projectionType == null
+                ? Optional.empty()
+                : planner.getObject().plan(query.get().getEntityType(), projectionType);
+        if (plan.isEmpty()) {
+            return invocation.proceed();
+        }
+        try {
+            return readOnlyTx().execute(status -> query.get().execute(em.getObject(), plan.get(), args));
+        } catch (RuntimeException e) {
+            DataAccessException translated = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+    }
+
+    /**
+     * 리포지토리의 @Transactional(readOnly = true)와 같음 (호출한 쪽 트랜잭션 있으면 참여)
+     */
+    private TransactionTemplate readOnlyTx() {
+        TransactionTemplate tx = readOnlyTx;
+        if (tx == null) {
+            tx = new TransactionTemplate(transactionManager.getObject());
+            tx.setReadOnly(true);
+            readOnlyTx = tx;
+        }
+        return tx;
+    }
+}
@@ -10,6 +10,8 @@ public interface UsernameOnly {
      * - 단점: DB에서 엔티티 정보 다 조회해온 다음에 계산 -> JPQL Select절 최적화 안됨
      * @Value 없으면: Close Projections
      * - 정확하게 매칭. DB에서 원하는 값(username)만 select절에 담아서 가져옴.
+     * 단순 SpEL(target.경로 + 문자열 연결)은 ProjectionPlanner가 닫힌 select로 바꿔서 실행
+     * - select m.username, m.age, j1.name from Member m left join m.team j1 ...
      */
     @Value("#{target.username + ' ' + target.age + ' ' + target.team.name}")
     String getUsername();
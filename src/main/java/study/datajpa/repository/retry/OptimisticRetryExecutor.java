@@ -0,0 +1,102 @@
+package study.datajpa.repository.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StaleStateException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 락(@Version) 충돌 시 재시도
+ * - 시도마다 새 트랜잭션(REQUIRES_NEW) = 새 영속성 컨텍스트 -> 최신 값을 다시 읽고 다시 수정
+ * - 대기: initial-backoff 부터 2배씩 (최대 max-backoff), 0 ~ 대기시간 사이 무작위(jitter) -> 충돌한 요청끼리 다시 부딪히지 않게
+ * - max-attempts 넘으면 마지막 충돌 예외 그대로 던짐
+ * 주의: action은 여러 번 실행될 수 있음 -> DB 작업 외 부수효과(메일 발송 등) 넣지 않기
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+    private final TransactionTemplate attemptTx;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   @Value("${datajpa.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${datajpa.retry.initial-backoff-ms:10}") long initialBackoffMillis,
+                                   @Value("${datajpa.retry.max-backoff-ms:200}") long maxBackoffMillis) {
+        this.attemptTx = new TransactionTemplate(transactionManager);
+        this.attemptTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            //바깥 트랜잭션에서 읽은 엔티티는 재시도해도 갱신되지 않음 -> 바깥 트랜잭션 밖에서 호출하는 것을 권장
+            log.debug("OptimisticRetryExecutor called inside a transaction; each attempt runs in a new one");
+        }
+        executions.increment();
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                T result = attemptTx.execute(status -> action.get());
+                if (attempt > 1) {
+                    recovered.increment();
+                }
+                return result;
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+                backoff = Math.min(backoff * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    public RetryStats stats() {
+        return new RetryStats(executions.sum(), attempts.sum(), conflicts.sum(), recovered.sum(), exhausted.sum());
+    }
+
+    private static boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException || cause instanceof OptimisticLockException
+                    || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("retry backoff interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package study.datajpa.repository.retry;
+
+import lombok.Getter;
+
+/**
+ * 낙관적 락 재시도 통계
+ * - conflicts: 충돌 횟수, recovered: 재시도 끝에 성공, exhausted: max-attempts 넘어서 실패
+ */
+@Getter
+public class RetryStats {
+    private final long executions;
+    private final long attempts;
+    private final long conflicts;
+    private final long recovered;
+    private final long exhausted;
+
+    public RetryStats(long executions, long attempts, long conflicts, long recovered, long exhausted) {
+        this.executions = executions;
+        this.attempts = attempts;
+        this.conflicts = conflicts;
+        this.recovered = recovered;
+        this.exhausted = exhausted;
+    }
+
+    public double getConflictRate() {
+        return attempts == 0 ? 0 : (double) conflicts / attempts;
+    }
+}
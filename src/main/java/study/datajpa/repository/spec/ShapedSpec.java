@@ -0,0 +1,173 @@
+package study.datajpa.repository.spec;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 모양(shape)을 아는 Specification
+ * - shape: 어떤 조건/조인으로 구성됐는지 (값 제외, null이라 건너뛴 조건도 제외) ex) (username and teamName)
+ * - 값은 Values로 분리 -> 같은 shape면 JPQL 번역은 한 번만 (SpecificationQueryCache), 값만 새로 바인딩
+ * - 일반 Specification으로도 그대로 동작 (findAll(spec) 등: 값은 literal로 사용)
+ */
+public final class ShapedSpec<T> implements Specification<T> {
+    private static final String PARAMETER_PREFIX = "p";
+
+    private final String shape;
+    private final List<Object> values;
+    private final Template<T> template;
+
+    private ShapedSpec(String shape, List<Object> values, Template<T> template) {
+        this.shape = shape;
+        this.values = values;
+        this.template = template;
+    }
+
+    /**
+     * @param shape  조건 이름 (조인 포함 구조가 같으면 같은 이름)
+     * @param values template에서 values.get(i, type)으로 꺼내 쓸 값
+     */
+    public static <T> ShapedSpec<T> of(String shape, List<?> values, Template<T> template) {
+        return new ShapedSpec<>(shape, new ArrayList<>(values), template);
+    }
+
+    /**
+     * 조건 없음 (검색 조건이 비어서 건너뛴 경우)
+     */
+    public static <T> ShapedSpec<T> none() {
+        return new ShapedSpec<>("", List.of(), (root, query, builder, values) -> null);
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public boolean isEmpty() {
+        return shape.isEmpty();
+    }
+
+    @Override
+    public Specification<T> and(Specification<T> other) {
+        if (!(other instanceof ShapedSpec)) {
+            return Specification.super.and(other);
+        }
+        return combine((ShapedSpec<T>) other, "and");
+    }
+
+    @Override
+    public Specification<T> or(Specification<T> other) {
+        if (!(other instanceof ShapedSpec)) {
+            return Specification.super.or(other);
+        }
+        return combine((ShapedSpec<T>) other, "or");
+    }
+
+    private ShapedSpec<T> combine(ShapedSpec<T> other, String operator) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        List<Object> combined = new ArrayList<>(values);
+        combined.addAll(other.values);
+        int offset = values.size();
+        boolean and = "and".equals(operator);
+        return new ShapedSpec<>("(" + shape + " " + operator + " " + other.shape + ")", combined,
+                (root, query, builder, values) -> {
+                    Predicate left = template.toPredicate(root, query, builder, values);
+                    Predicate right = other.template.toPredicate(root, query, builder, values.offset(offset));
+                    return and ? builder.and(left, right) : builder.or(left, right);
+                });
+    }
+
+    /**
+     * 일반 Specification: 값은 literal
+     */
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        return template.toPredicate(root, query, builder, new LiteralValues(builder, values, 0));
+    }
+
+    /**
+     * 캐시용: 값 대신 이름 있는 파라미터(:p0, :p1 ...) -> 번역 결과를 값과 상관없이 재사용
+     */
+    Predicate toParameterizedPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        return template.toPredicate(root, query, builder, new ParameterValues(builder, 0));
+    }
+
+    int getValueCount() {
+        return values.size();
+    }
+
+    Object getValue(int index) {
+        return values.get(index);
+    }
+
+    static String parameterName(int index) {
+        return PARAMETER_PREFIX + index;
+    }
+
+    @FunctionalInterface
+    public interface Template<T> {
+        Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder, Values values);
+    }
+
+    /**
+     * 조건 값 (literal 또는 파라미터)
+     */
+    public interface Values {
+        <V> Expression<V> get(int index, Class<V> type);
+
+        Values offset(int offset);
+    }
+
+    private static class LiteralValues implements Values {
+        private final CriteriaBuilder builder;
+        private final List<Object> values;
+        private final int offset;
+
+        private LiteralValues(CriteriaBuilder builder, List<Object> values, int offset) {
+            this.builder = builder;
+            this.values = values;
+            this.offset = offset;
+        }
+
+        @Override
+        public <V> Expression<V> get(int index, Class<V> type) {
+            Object value = values.get(offset + index);
+            return value == null ? builder.nullLiteral(type) : builder.literal(type.cast(value));
+        }
+
+        @Override
+        public Values offset(int offset) {
+            return new LiteralValues(builder, values, this.offset + offset);
+        }
+    }
+
+    private static class ParameterValues implements Values {
+        private final CriteriaBuilder builder;
+        private final int offset;
+
+        private ParameterValues(CriteriaBuilder builder, int offset) {
+            this.builder = builder;
+            this.offset = offset;
+        }
+
+        @Override
+        public <V> Expression<V> get(int index, Class<V> type) {
+            return builder.parameter(type, parameterName(offset + index));
+        }
+
+        @Override
+        public Values offset(int offset) {
+            return new ParameterValues(builder, this.offset + offset);
+        }
+    }
+}
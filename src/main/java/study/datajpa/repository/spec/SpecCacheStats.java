@@ -0,0 +1,27 @@
+package study.datajpa.repository.spec;
+
+import lombok.Getter;
+
+/**
+ * Specification 번역 캐시 통계
+ * - uncached: ShapedSpec이 아니라서 캐시를 못 쓴 호출 수
+ */
+@Getter
+public class SpecCacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long uncachedCount;
+    private final int size;
+
+    public SpecCacheStats(long hitCount, long missCount, long uncachedCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.uncachedCount = uncachedCount;
+        this.size = size;
+    }
+
+    public double getHitRatio() {
+        long total = hitCount + missCount + uncachedCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
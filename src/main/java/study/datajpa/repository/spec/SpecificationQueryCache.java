@@ -0,0 +1,98 @@
+package study.datajpa.repository.spec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Specification 조회 시 Criteria -> JPQL 번역 결과 캐시
+ * - findAll(spec): 호출마다 Criteria 트리 생성 + JPQL 렌더링 + HQL 번역
+ * - ShapedSpec: shape별로 파라미터화된 JPQL을 한 번만 만들고, 이후엔 같은 JPQL 문자열에 값만 바인딩
+ *   -> Hibernate 쿼리 플랜 캐시(HQL -> SQL)도 그대로 재사용
+ * - shape 수는 코드의 조건 조합 수로 제한되지만 max-size 넘으면 더 이상 저장하지 않음
+ */
+@Component
+public class SpecificationQueryCache {
+    private final EntityManager em;
+    private final int maxSize;
+    private final Map<String, String> jpqls = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder uncached = new LongAdder();
+
+    public SpecificationQueryCache(EntityManager em, @Value("${datajpa.spec-cache.max-size:256}") int maxSize) {
+        this.em = em;
+        this.maxSize = maxSize;
+    }
+
+    public <T> List<T> findAll(Class<T> domainClass, Specification<T> spec) {
+        if (!(spec instanceof ShapedSpec)) { //shape를 모름 -> 매번 Criteria 실행
+            uncached.increment();
+            return criteriaQuery(domainClass, spec).getResultList();
+        }
+        ShapedSpec<T> shaped = (ShapedSpec<T>) spec;
+        String key = domainClass.getName() + ":" + shaped.getShape();
+        String jpql = jpqls.get(key);
+        if (jpql == null) {
+            misses.increment();
+            jpql = translate(domainClass, shaped);
+            if (jpqls.size() < maxSize) {
+                jpqls.putIfAbsent(key, jpql);
+            }
+        } else {
+            hits.increment();
+        }
+
+        TypedQuery<T> query = em.createQuery(jpql, domainClass);
+        for (int i = 0; i < shaped.getValueCount(); i++) {
+            query.setParameter(ShapedSpec.parameterName(i), shaped.getValue(i));
+        }
+        return query.getResultList();
+    }
+
+    public SpecCacheStats stats() {
+        return new SpecCacheStats(hits.sum(), misses.sum(), uncached.sum(), jpqls.size());
+    }
+
+    public void clear() {
+        jpqls.clear();
+        hits.reset();
+        misses.reset();
+        uncached.reset();
+    }
+
+    private <T> String translate(Class<T> domainClass, ShapedSpec<T> spec) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = spec.toParameterizedPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+        return em.createQuery(query).unwrap(org.hibernate.query.Query.class).getQueryString();
+    }
+
+    private <T> TypedQuery<T> criteriaQuery(Class<T> domainClass, Specification<T> spec) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+        return em.createQuery(query);
+    }
+}
@@ -0,0 +1,75 @@
+package study.datajpa.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditContextTest {
+
+    @AfterEach
+    public void reset() {
+        AuditContext.clearAuditor();
+        AuditContext.setClock(Clock.systemDefaultZone());
+    }
+
+    @Test
+    public void auditorPerRequest() {
+        assertThat(AuditContext.currentAuditor()).isEqualTo(AuditContext.SYSTEM); //요청 밖
+
+        String auditor = AuditorIds.next();
+        AuditContext.setAuditor(auditor);
+        assertThat(AuditContext.currentAuditor()).isEqualTo(auditor);
+        assertThat(AuditContext.currentAuditor()).isEqualTo(auditor); //요청 안에서는 같은 값
+    }
+
+    @Test
+    public void auditorIdsUnique() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(AuditorIds.next());
+        }
+        assertThat(ids).hasSize(10_000);
+    }
+
+    @Test
+    public void stampedSharesOneTime() {
+        //given: 호출할 때마다 1초씩 가는 시계
+        Clock ticking = new Clock() {
+            private long seconds;
+
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochSecond(seconds++);
+            }
+        };
+        AuditContext.setClock(ticking);
+
+        //when
+        LocalDateTime[] stamps = AuditContext.stamped(() -> new LocalDateTime[]{
+                AuditContext.now(), AuditContext.now(), AuditContext.stamped(AuditContext::now)});
+
+        //then
+        assertThat(stamps[1]).isEqualTo(stamps[0]);
+        assertThat(stamps[2]).isEqualTo(stamps[0]); //중첩해도 바깥 시각
+        assertThat(AuditContext.now()).isAfter(stamps[0]); //밖에서는 다시 현재 시각
+    }
+}
@@ -0,0 +1,55 @@
+package study.datajpa.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    public void lruEviction() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 2, Duration.ofMinutes(1));
+        cache.get(1, () -> "a");
+        cache.get(2, () -> "b");
+        cache.getIfPresent(1); //1 최근 사용 -> 2가 가장 오래됨
+        cache.get(3, () -> "c");
+
+        assertThat(cache.getIfPresent(1)).isEqualTo("a");
+        assertThat(cache.getIfPresent(2)).isNull();
+        assertThat(cache.stats().getEvictionCount()).isEqualTo(1);
+        assertThat(cache.stats().getSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void ttlExpired() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, Duration.ZERO);
+        cache.get(1, () -> "a");
+
+        assertThat(cache.getIfPresent(1)).isNull();
+    }
+
+    @Test
+    public void invalidatedWhileLoading() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, Duration.ofMinutes(1));
+        cache.get(1, () -> {
+            cache.invalidate(1); //로딩 중 변경 커밋
+            return "stale";
+        });
+
+        assertThat(cache.getIfPresent(1)).isNull();
+    }
+
+    @Test
+    public void hitRatio() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, Duration.ofMinutes(1));
+        cache.get(1, () -> "a"); //miss
+        cache.get(1, () -> "a"); //hit
+        cache.get(1, () -> "a"); //hit
+
+        assertThat(cache.stats().getHitCount()).isEqualTo(2);
+        assertThat(cache.stats().getMissCount()).isEqualTo(1);
+        assertThat(cache.stats().getHitRatio()).isEqualTo(2.0 / 3);
+    }
+}
@@ -0,0 +1,80 @@
+package study.datajpa.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NearCacheTest {
+
+    /**
+     * 같은 키 동시 miss -> loader는 한 번만
+     */
+    @Test
+    public void singleFlight() throws Exception {
+        NearCache<Integer, String> cache = new NearCache<>("test", 10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<String> first = executor.submit(() -> cache.get(1, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "a";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<String>> others = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                others.add(executor.submit(() -> cache.get(1, () -> {
+                    loads.incrementAndGet();
+                    return "b";
+                })));
+            }
+            while (cache.stats().getCoalescedCount() < 7) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+            for (Future<String> other : others) {
+                assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.stats().getLoadCount()).isEqualTo(1);
+        assertThat(cache.get(1, () -> "c")).isEqualTo("a"); //이후는 캐시 hit
+    }
+
+    @Test
+    public void loadFailureNotCached() {
+        NearCache<Integer, String> cache = new NearCache<>("test", 10, Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> cache.get(1, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get(1, () -> "a")).isEqualTo("a");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package study.datajpa.controller;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.audit.AuditContext;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 조건부 GET (ETag) - 캐시 무효화는 커밋 후 -> 테스트 트랜잭션 없이 실행하고 직접 정리
+ * - 요청마다 QueryCountFilter가 카운터를 새로 시작 -> DB 조회 수는 Hibernate 통계로 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Long teamId;
+    private Long memberId;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        Team team = teamRepository.save(new Team("etagTeam"));
+        teamId = team.getId();
+        memberId = memberRepository.save(new Member("etag1", 10, team)).getId();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        AuditContext.setClock(Clock.systemDefaultZone());
+        memberRepository.deleteById(memberId);
+        teamRepository.deleteById(teamId);
+    }
+
+    @Test
+    public void memberNotModifiedWithoutQuery() throws Exception {
+        //given: 첫 조회로 near-cache 채움
+        String etag = mockMvc.perform(get("/members/" + memberId))
+                .andExpect(status().isOk())
+                .andExpect(content().string("etag1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        long before = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/members/" + memberId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        //then: 304는 캐시된 version으로 판단 -> DB 조회 X
+        assertThat(statistics.getPrepareStatementCount() - before).isZero();
+
+        //변경 커밋 -> version 증가 -> 이전 ETag로는 200
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.findById(memberId).get().setUsername("etag2"));
+        mockMvc.perform(get("/members/" + memberId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string("etag2"));
+    }
+
+    @Test
+    public void listNotModifiedUntilDeleted() throws Exception {
+        //given
+        Long deletedId = memberRepository.save(new Member("etagDeleted", 10)).getId();
+        String etag = mockMvc.perform(get("/members").param("count", "CACHED"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        long statements = statistics.getPrepareStatementCount();
+        long loads = statistics.getEntityLoadCount();
+        mockMvc.perform(get("/members").param("count", "CACHED").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        //then: max(lastModifiedDate) 하나만, 목록/count 조회 X
+        assertThat(statistics.getPrepareStatementCount() - statements).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount() - loads).isZero();
+
+        //삭제는 lastModifiedDate가 안 바뀜 -> 변경 카운터로 이전 ETag는 200
+        memberRepository.deleteById(deletedId);
+        mockMvc.perform(get("/members").param("count", "CACHED").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void dtoListNotModifiedUntilTeamChanged() throws Exception {
+        //given
+        String etag = mockMvc.perform(get("/members").param("view", "dto"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/members").param("view", "dto").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        //when: 팀 이름 변경 (DTO 목록에 팀 이름 포함)
+        AuditContext.setClock(Clock.offset(Clock.systemDefaultZone(), Duration.ofMinutes(1)));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                teamRepository.findById(teamId).get().setName("etagTeam2"));
+
+        //then
+        mockMvc.perform(get("/members").param("view", "dto").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+}
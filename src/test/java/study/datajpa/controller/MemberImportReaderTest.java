@@ -0,0 +1,44 @@
+package study.datajpa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import study.datajpa.dto.MemberImportRow;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberImportReaderTest {
+    private final MemberImportReader reader = new MemberImportReader(new ObjectMapper());
+
+    /**
+     * 헤더는 첫 줄이 정확히 username,age[,teamId]일 때만 건너뜀 (username1 같은 데이터는 유지)
+     */
+    @Test
+    public void skipsOnlyHeaderLine() throws IOException {
+        List<MemberImportRow> rows = read("username,age,teamId\nusername1,20\nmember2,30,1\n");
+
+        assertThat(rows).extracting("username").containsExactly("username1", "member2");
+        assertThat(rows).extracting("teamId").containsExactly(null, 1L);
+    }
+
+    @Test
+    public void noHeader() throws IOException {
+        List<MemberImportRow> rows = read("username1,20\n\nusername2,21");
+
+        assertThat(rows).extracting("username").containsExactly("username1", "username2");
+    }
+
+    private List<MemberImportRow> read(String csv) throws IOException {
+        Iterator<MemberImportRow> iterator = reader.read(MemberImportReader.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        List<MemberImportRow> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,51 @@
+package study.datajpa.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 H2 2개(primary, replica)로 라우팅 확인
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "datajpa.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "datajpa.datasource.replica.username=sa",
+        "decorator.datasource.exclude-beans=primaryDataSource,replicaDataSource"
+})
+class ReadWriteRoutingDataSourceTest {
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    ReplicaHealth replicaHealth;
+
+    @Test
+    public void routing() {
+        assertThat(databaseIn(true)).isEqualToIgnoringCase("replica");
+        assertThat(databaseIn(false)).isEqualToIgnoringCase("primary");
+    }
+
+    @Test
+    public void fallbackToPrimaryWhenLagging() {
+        replicaHealth.record(60_000); //1분 지연
+        try {
+            assertThat(databaseIn(true)).isEqualToIgnoringCase("primary");
+        } finally {
+            replicaHealth.record(0);
+        }
+    }
+
+    private String databaseIn(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+}
@@ -0,0 +1,67 @@
+package study.datajpa.datasource.pool;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePoolSizerTest {
+    AdaptivePoolSizer sizer = new AdaptivePoolSizer(new PoolMetrics(), 4, 12, 2, 5);
+
+    @Test
+    public void growWhenWaiting() {
+        PoolSizeDecision decision = sizer.decide("p", 10, new PoolWindow(100, 20, 3, 0, 10, 5));
+
+        assertThat(decision.getSize()).isEqualTo(12);
+        assertThat(sizer.decide("p", 12, new PoolWindow(100, 20, 3, 0, 12, 5)).getSize()).isEqualTo(12); //max-size
+    }
+
+    /**
+     * 대기가 있어도 DB 응답이 평소의 2배 이상이면 유지
+     */
+    @Test
+    public void keepWhenDbSlow() {
+        sizer.decide("p", 8, new PoolWindow(100, 0.1, 3, 0, 6, 0)); //평소: 점유 3ms
+
+        PoolSizeDecision decision = sizer.decide("p", 8, new PoolWindow(100, 20, 30, 0, 8, 5));
+
+        assertThat(decision.getSize()).isEqualTo(8);
+        assertThat(decision.getReason()).contains("db slow");
+    }
+
+    @Test
+    public void shrinkWhenIdle() {
+        PoolSizeDecision decision = sizer.decide("p", 10, new PoolWindow(100, 0.1, 3, 0, 2, 0));
+
+        assertThat(decision.getSize()).isEqualTo(8);
+        assertThat(sizer.decide("p", 4, new PoolWindow(0, 0, 0, 0, 0, 0)).getSize()).isEqualTo(4); //min-size
+    }
+
+    @Test
+    public void growOnTimeout() {
+        PoolSizeDecision decision = sizer.decide("p", 6, new PoolWindow(10, 1, 3, 1, 6, 0));
+
+        assertThat(decision.getSize()).isEqualTo(8);
+    }
+
+    /**
+     * 줄일 때 낮춘 minimumIdle -> 다시 늘리면 설정값까지 복구
+     */
+    @Test
+    public void restoreMinimumIdleWhenGrowing() {
+        HikariConfig config = new HikariConfig();
+        config.setMaximumPoolSize(10);
+        config.setMinimumIdle(8);
+
+        sizer.resize("p", config, new PoolWindow(100, 0.1, 3, 0, 2, 0));
+        assertThat(config.getMaximumPoolSize()).isEqualTo(8);
+        sizer.resize("p", config, new PoolWindow(100, 0.1, 3, 0, 2, 0));
+        assertThat(config.getMaximumPoolSize()).isEqualTo(6);
+        assertThat(config.getMinimumIdle()).isEqualTo(6);
+
+        sizer.resize("p", config, new PoolWindow(100, 20, 3, 0, 6, 5));
+        sizer.resize("p", config, new PoolWindow(100, 20, 3, 0, 8, 5));
+        assertThat(config.getMaximumPoolSize()).isEqualTo(10);
+        assertThat(config.getMinimumIdle()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,43 @@
+package study.datajpa.datasource.pool;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PoolMetricsTest {
+    @Autowired
+    PoolMetrics poolMetrics;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void acquireRecorded() {
+        memberRepository.count();
+
+        assertThat(poolMetrics.pools()).isNotEmpty();
+        PoolSnapshot pool = poolMetrics.pools().get(0);
+        assertThat(pool.getAcquires()).isPositive();
+        assertThat(pool.getMaxSize()).isPositive();
+        assertThat(pool.getActive() + pool.getIdle()).isEqualTo(pool.getTotal());
+    }
+
+    @Test
+    public void holdPerEndpoint() {
+        ConnectionHolds holds = poolMetrics.holds();
+        holds.start();
+        memberRepository.count();
+        holds.finish("GET /test");
+
+        assertThat(poolMetrics.endpoints())
+                .filteredOn(e -> e.getEndpoint().equals("GET /test"))
+                .hasSize(1)
+                .allSatisfy(e -> {
+                    assertThat(e.getConnections()).isEqualTo(1L);
+                    assertThat(e.getTotalMicros()).isPositive(); //ns 측정 -> 1ms 미만 점유도 0이 아님
+                });
+    }
+}
@@ -0,0 +1,35 @@
+package study.datajpa.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    public void bucketBoundaries() {
+        for (long value : new long[]{0, 1, 7, 8, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE / 2}) {
+            int index = LatencyHistogram.index(value);
+            assertThat(LatencyHistogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L); //1us ~ 1000us
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(histogram.getMaxNanos()).isEqualTo(1_000_000L);
+        //버킷 오차 12.5% 이내
+        assertThat((double) histogram.percentile(0.5)).isCloseTo(500_000, within(500_000 * 0.125));
+        assertThat((double) histogram.percentile(0.99)).isCloseTo(990_000, within(990_000 * 0.125));
+        assertThat(histogram.percentile(1.0)).isEqualTo(1_000_000L);
+    }
+}
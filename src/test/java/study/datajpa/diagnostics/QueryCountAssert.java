@@ -0,0 +1,69 @@
+package study.datajpa.diagnostics;
+
+import org.assertj.core.api.AbstractAssert;
+
+/**
+ * 테스트용 SQL 수 검증 (N+1 회귀 방지)
+ * <pre>
+ * assertThatQueries(() -> ...).hasAtMost(2).hasNoRepeatedStatements();
+ * </pre>
+ * - flush가 일어나면 insert/update도 포함되므로 검증할 코드 전에 em.flush(), em.clear() 해두기
+ */
+public class QueryCountAssert extends AbstractAssert<QueryCountAssert, QueryCount> {
+
+    private QueryCountAssert(QueryCount actual) {
+        super(actual, QueryCountAssert.class);
+    }
+
+    public static QueryCountAssert assertThatQueries(Runnable action) {
+        QueryCounter.start();
+        try {
+            action.run();
+        } catch (RuntimeException | Error e) {
+            QueryCounter.stop();
+            throw e;
+        }
+        return new QueryCountAssert(QueryCounter.stop());
+    }
+
+    public QueryCountAssert hasAtMost(int max) {
+        if (actual.getTotal() > max) {
+            failWithMessage("Expected at most %d queries but was %d%n%s", max, actual.getTotal(), actual.describe());
+        }
+        return this;
+    }
+
+    public QueryCountAssert hasExactly(int expected) {
+        if (actual.getTotal() != expected) {
+            failWithMessage("Expected %d queries but was %d%n%s", expected, actual.getTotal(), actual.describe());
+        }
+        return this;
+    }
+
+    /**
+     * fragment(소문자)가 들어간 SQL이 실행되지 않았어야 함 (ex. "count(")
+     */
+    public QueryCountAssert hasNoStatementContaining(String fragment) {
+        if (actual.countContaining(fragment) > 0) {
+            failWithMessage("Expected no statement containing '%s' but was%n%s", fragment, actual.describe());
+        }
+        return this;
+    }
+
+    public QueryCountAssert hasStatementContaining(String fragment) {
+        if (actual.countContaining(fragment) == 0) {
+            failWithMessage("Expected a statement containing '%s' but was%n%s", fragment, actual.describe());
+        }
+        return this;
+    }
+
+    /**
+     * 파라미터만 다른 같은 SQL이 두 번 이상 실행되면 실패 (N+1)
+     */
+    public QueryCountAssert hasNoRepeatedStatements() {
+        if (!actual.repeated(2).isEmpty()) {
+            failWithMessage("Expected no repeated statements (N+1) but was%n%s", actual.describe());
+        }
+        return this;
+    }
+}
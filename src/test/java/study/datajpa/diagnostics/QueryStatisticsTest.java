@@ -0,0 +1,76 @@
+package study.datajpa.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * p6spy 이벤트 -> 지문별 집계 (값만 다른 조회는 하나로)
+ */
+@SpringBootTest
+class QueryStatisticsTest {
+    @Autowired
+    QueryStatistics queryStatistics;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void aggregatedByFingerprint() {
+        //given
+        queryStatistics.reset();
+
+        //when
+        memberRepository.findByNames(List.of("a", "b"));
+        memberRepository.findByNames(List.of("a", "b", "c"));
+
+        //then
+        List<QueryStatsSnapshot> top = queryStatistics.top("calls", 100);
+        assertThat(top).filteredOn(q -> q.getFingerprint().contains(" in (?...)"))
+                .extracting(QueryStatsSnapshot::getCalls)
+                .containsExactly(2L);
+        assertThat(top).allSatisfy(q -> assertThat(q.getSlowest()).isNotEmpty());
+    }
+
+    /**
+     * 지문 수 제한 -> 누적 시간 가장 작은 지문을 버림, 샘플은 가장 느린 실행
+     */
+    @Test
+    public void boundedFingerprints() {
+        QueryStatistics statistics = new QueryStatistics(2, 1, 100);
+        statistics.record("select * from a where id = 1", 1_000_000, false, () -> "a1");
+        statistics.record("select * from a where id = 2", 5_000_000, false, () -> "a2");
+        statistics.record("select * from b", 100, false, () -> "b");
+        statistics.record("select * from c", 2_000_000, false, () -> "c");
+
+        List<QueryStatsSnapshot> top = statistics.top("total", 10);
+        assertThat(top).extracting(QueryStatsSnapshot::getFingerprint)
+                .containsExactly("select * from a where id = ?", "select * from c");
+        assertThat(top.get(0).getCalls()).isEqualTo(2);
+        assertThat(top.get(0).getSlowest()).extracting(QuerySample::getSql).containsExactly("a2");
+    }
+
+    /**
+     * 한 번씩만 실행되는 SQL 사이에 끼어 자주 실행되는 SQL -> 밀려날 때마다 가중치가 쌓여서 결국 남음
+     */
+    @Test
+    public void frequentFingerprintSurvivesChurn() {
+        QueryStatistics statistics = new QueryStatistics(3, 1, 100);
+        statistics.record("select * from old_a", 5_000_000, false, () -> "old_a");
+        statistics.record("select * from old_b", 5_000_000, false, () -> "old_b");
+        for (char c = 'a'; c < 'k'; c++) {
+            statistics.record("select * from hot", 1_000_000, false, () -> "hot");
+            statistics.record("select * from hot", 1_000_000, false, () -> "hot");
+            statistics.record("select * from once_" + c, 1_000_000, false, () -> "once");
+        }
+
+        List<QueryStatsSnapshot> top = statistics.top("total", 1);
+        assertThat(top).extracting(QueryStatsSnapshot::getFingerprint).containsExactly("select * from hot");
+        assertThat(statistics.top("total", 10)).extracting(QueryStatsSnapshot::getFingerprint)
+                .doesNotContain("select * from old_a", "select * from old_b");
+    }
+}
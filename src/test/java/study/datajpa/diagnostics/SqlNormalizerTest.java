@@ -0,0 +1,42 @@
+package study.datajpa.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlNormalizerTest {
+
+    @Test
+    public void literals() {
+        assertThat(SqlNormalizer.normalize("select * from member where username = 'it''s' and age = 10"))
+                .isEqualTo("select * from member where username = ? and age = ?");
+        assertThat(SqlNormalizer.normalize("select member0_.member_id from member member0_ where member0_.age > -1.5"))
+                .isEqualTo("select member0_.member_id from member member0_ where member0_.age > ?");
+        assertThat(SqlNormalizer.normalize("update member set age = age-1"))
+                .isEqualTo("update member set age = age-?");
+    }
+
+    /**
+     * IN 목록 크기(패딩, 청크)가 달라도 같은 지문
+     */
+    @Test
+    public void inList() {
+        String two = SqlNormalizer.normalize("select * from member where member_id in (?, ?)");
+        String eight = SqlNormalizer.normalize("select * from member where member_id IN (?,?,?,?,?,?,?,?)");
+
+        assertThat(two).isEqualTo("select * from member where member_id in (?...)");
+        assertThat(eight).isEqualTo("select * from member where member_id IN (?...)");
+        assertThat(SqlNormalizer.normalize("select * from t where a in (1, 'x', -2)"))
+                .isEqualTo("select * from t where a in (?...)");
+        assertThat(SqlNormalizer.normalize("select * from t where a in (select b from u)"))
+                .isEqualTo("select * from t where a in (select b from u)");
+        assertThat(SqlNormalizer.normalize("select min(?) from t join (select 1) x"))
+                .isEqualTo("select min(?) from t join (select ?) x");
+    }
+
+    @Test
+    public void whitespace() {
+        assertThat(SqlNormalizer.normalize("\n    select\n        m.id \n    from\n        member m\n"))
+                .isEqualTo("select m.id from member m");
+    }
+}
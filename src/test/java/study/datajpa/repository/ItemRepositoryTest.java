@@ -3,8 +3,15 @@ package study.datajpa.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Item;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * 새로운 엔티티 구별하는 방법
  * - 새로운 엔티티면 저장(persist)
@@ -16,6 +23,8 @@ import study.datajpa.entity.Item;
 class ItemRepositoryTest {
     @Autowired
     ItemRepository itemRepository;
+    @PersistenceContext
+    EntityManager em;
 
     @Test
     public void save() {
@@ -23,4 +32,39 @@ class ItemRepositoryTest {
         itemRepository.save(item);
 
     }
+
+    /**
+     * 대량 저장: 이미 있는 id는 건너뛰고 없는 것만 insert (row별 select X)
+     */
+    @Test
+    @Transactional
+    public void bulkUpsert() {
+        //given
+        itemRepository.bulkUpsert(Arrays.asList(new Item("bulk-1"), new Item("bulk-2")));
+
+        //when
+        int inserted = itemRepository.bulkUpsert(Arrays.asList(
+                new Item("bulk-2"), new Item("bulk-3"), new Item("bulk-3"), new Item("bulk-4")));
+
+        //then
+        assertThat(inserted).isEqualTo(2);
+        assertThat(itemRepository.findAllById(Arrays.asList("bulk-1", "bulk-2", "bulk-3", "bulk-4"))).hasSize(4);
+    }
+
+    /**
+     * 대량 저장은 자기가 등록한 Item만 detach -> 호출한 쪽이 관리하던 엔티티는 영속 상태 유지
+     */
+    @Test
+    @Transactional
+    public void bulkUpsertKeepsCallerEntities() {
+        //given
+        Item managed = new Item("bulk-managed");
+        em.persist(managed);
+
+        //when
+        itemRepository.bulkUpsert(Arrays.asList(new Item("bulk-5"), new Item("bulk-6")));
+
+        //then
+        assertThat(em.contains(managed)).isTrue();
+    }
 }
\ No newline at end of file
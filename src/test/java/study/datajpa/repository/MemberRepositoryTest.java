@@ -1,25 +1,43 @@
 package study.datajpa.repository;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.diagnostics.QueryCount;
+import study.datajpa.diagnostics.QueryCounter;
+import study.datajpa.diagnostics.RepeatedStatement;
+import study.datajpa.dto.CursorPage;
+import study.datajpa.dto.MemberCursor;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberImportRow;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
+import study.datajpa.repository.count.CountMode;
 import study.datajpa.repository.custom.MemberQueryRepository;
 import study.datajpa.repository.projections.NestedClosedProjections;
+import study.datajpa.repository.projections.UsernameOnly;
+import study.datajpa.repository.projections.UsernameOnlyDto;
+import study.datajpa.repository.spec.SpecCacheStats;
+import study.datajpa.repository.spec.SpecificationQueryCache;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.datajpa.diagnostics.QueryCountAssert.assertThatQueries;
 
 @SpringBootTest
 @Transactional
@@ -29,6 +47,8 @@ class MemberRepositoryTest {
     MemberRepository memberRepository;
     @Autowired
     TeamRepository teamRepository;
+    @Autowired
+    SpecificationQueryCache specificationQueryCache;
 
     private final MemberQueryRepository memberQueryRepository;
 
@@ -204,6 +224,31 @@ class MemberRepositoryTest {
         }
     }
 
+    /**
+     * 큰 IN 목록: chunk-size(1024) 단위로 나눠서 조회 후 합침
+     */
+    @Test
+    @Rollback
+    public void findByNamesChunked() {
+        //given
+        memberRepository.save(new Member("chunkA", 10));
+        memberRepository.save(new Member("chunkB", 10));
+        em.flush();
+        em.clear();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            names.add("none" + i);
+        }
+        names.add(0, "chunkA");
+        names.add("chunkB");
+        names.add("chunkA"); //중복은 한 번만
+
+        //when & then
+        List<Member> result = new ArrayList<>();
+        assertThatQueries(() -> result.addAll(memberRepository.findByNames(names))).hasExactly(3); //3002개 -> 청크 3개
+        assertThat(result).extracting("username").containsExactly("chunkA", "chunkB");
+    }
+
     /**
      * 반환 타입(단건, 컬렉션, Optional)
      * - 단건 조회: 결과 없음 - null
@@ -266,6 +311,183 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue(); //다음 페이지가 있는가?
     }
 
+    /**
+     * Keyset(Seek) 페이징: 마지막으로 본 id 다음부터 조회 (offset X, count X)
+     */
+    @Test
+    @Rollback
+    public void keysetPaging() {
+        //given
+        Member m1 = memberRepository.save(new Member("member1", 10));
+        Member m2 = memberRepository.save(new Member("member2", 10));
+        Member m3 = memberRepository.save(new Member("member3", 10));
+        Member m4 = memberRepository.save(new Member("member4", 10));
+        Member m5 = memberRepository.save(new Member("member5", 10));
+        PageRequest size2 = PageRequest.of(0, 2);
+
+        //when
+        Slice<Member> first = memberRepository.seekByIdAfter(m1.getId(), size2);
+        Member last = first.getContent().get(first.getNumberOfElements() - 1);
+        Slice<Member> second = memberRepository.seekByIdAfter(last.getId(), size2);
+
+        //then
+        assertThat(first.getContent()).containsExactly(m2, m3);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).containsExactly(m4, m5);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    /**
+     * /members/keyset 과 같은 흐름: username desc, id desc + 커서 문자열(MemberCursor) 주고받기
+     * - 같은 username이 페이지 경계에 걸쳐도 id로 구분 -> 빠지거나 중복되는 회원 없음
+     */
+    @Test
+    @Rollback
+    public void keysetPagingByUsername() {
+        //given: "zz"로 시작 -> 맨 앞 페이지들, 같은 username 3명이 size 2 경계에 걸침
+        Member a1 = memberRepository.save(new Member("zzKeysetA", 10));
+        Member a2 = memberRepository.save(new Member("zzKeysetA", 10));
+        Member a3 = memberRepository.save(new Member("zzKeysetA", 10));
+        Member b = memberRepository.save(new Member("zzKeysetB", 10));
+        em.flush();
+        em.clear();
+        List<Long> expected = new ArrayList<>();
+        memberRepository.findAll(Sort.by(Sort.Direction.DESC, "username", "id")).forEach(m -> expected.add(m.getId()));
+        PageRequest size2 = PageRequest.of(0, 2);
+
+        //when: nextCursor가 null일 때까지
+        List<CursorPage<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            Slice<Member> slice;
+            if (cursor == null) {
+                slice = memberRepository.seekFirstByUsernameDesc(size2);
+            } else {
+                MemberCursor last = MemberCursor.decode(cursor);
+                slice = memberRepository.seekByUsernameDesc(last.getUsername(), last.getId(), size2);
+            }
+            CursorPage<Long> page = CursorPage.of(slice, Member::getId, m -> new MemberCursor(m.getUsername(), m.getId()).encode());
+            pages.add(page);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        //then
+        assertThat(pages.get(0).getContent()).containsExactly(b.getId(), a3.getId());
+        assertThat(pages.get(1).getContent()).containsExactly(a2.getId(), a1.getId());
+        List<Long> seen = new ArrayList<>();
+        pages.forEach(page -> seen.addAll(page.getContent()));
+        assertThat(seen).containsExactlyElementsOf(expected); //빠짐, 중복 없음
+        CursorPage<Long> lastPage = pages.get(pages.size() - 1);
+        assertThat(lastPage.isHasNext()).isFalse();
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void memberCursorRoundTrip() {
+        MemberCursor cursor = MemberCursor.decode(new MemberCursor("line\nbreak, 한글", 42L).encode());
+
+        assertThat(cursor.getUsername()).isEqualTo("line\nbreak, 한글");
+        assertThat(cursor.getId()).isEqualTo(42L);
+        assertThatThrownBy(() -> MemberCursor.decode("bm90LWEtY3Vyc29y")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * count 전략: CACHED -> 같은 조건이면 두 번째부터 count 쿼리 X
+     * - 커밋된 데이터로 계산한 count만 캐시되므로 테스트 트랜잭션 없이 실행 (끝나면 삭제)
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void pagingWithCachedCount() {
+        //given
+        List<Member> members = memberRepository.saveAll(Arrays.asList(
+                new Member("member1", 77), new Member("member2", 77), new Member("member3", 77)));
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username"));
+        try {
+            //when
+            Page<Member> page = memberRepository.findPageByAge(77, pageRequest, CountMode.CACHED);
+            List<Page<Member>> cached = new ArrayList<>();
+            assertThatQueries(() -> cached.add(memberRepository.findPageByAge(77, pageRequest, CountMode.CACHED)))
+                    .hasNoStatementContaining("count(");
+
+            //then
+            assertThat(page.getContent()).extracting("username").containsExactly("member3", "member2");
+            assertThat(page.getTotalElements()).isEqualTo(3);
+            assertThat(cached.get(0).getTotalElements()).isEqualTo(3);
+            assertThat(cached.get(0).hasNext()).isTrue();
+        } finally {
+            memberRepository.deleteAll(members);
+        }
+    }
+
+    /**
+     * 쓰기 트랜잭션 안에서 계산한 count는 커밋 전까지 캐시 X (롤백되면 틀린 값이 남으므로)
+     */
+    @Test
+    @Rollback
+    public void cachedCountNotFilledBeforeCommit() {
+        //given
+        memberRepository.save(new Member("member1", 78));
+        memberRepository.save(new Member("member2", 78));
+        memberRepository.save(new Member("member3", 78));
+        PageRequest pageRequest = PageRequest.of(0, 2);
+        memberRepository.findPageByAge(78, pageRequest, CountMode.CACHED);
+
+        //when & then
+        assertThatQueries(() -> memberRepository.findPageByAge(78, pageRequest, CountMode.CACHED))
+                .hasStatementContaining("count(");
+    }
+
+    /**
+     * DTO 페이징: 엔티티 없이 팀 이름까지 조회
+     */
+    @Test
+    @Rollback
+    public void pagingDto() {
+        //given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        memberRepository.save(new Member("zzDto1", 10, teamA));
+        memberRepository.save(new Member("zzDto2", 10));
+        em.flush();
+        em.clear();
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username"));
+
+        //when
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(pageRequest);
+
+        //then
+        assertThat(page.getContent()).extracting("username").containsExactly("zzDto2", "zzDto1");
+        assertThat(page.getContent()).extracting("teamName").containsExactly(null, "teamA");
+        assertThat(page.getTotalElements()).isEqualTo(memberRepository.count());
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(0); //영속성 컨텍스트 비어있음
+    }
+
+    /**
+     * 대량 등록: batch-size 단위 flush/clear + JDBC batch insert
+     * - 회원별 변경 이벤트 X (커밋까지 남는 트랜잭션 동기화 객체가 행 수만큼 쌓이지 않음) -> bulk 이벤트 한 번
+     */
+    @Test
+    @Rollback
+    public void bulkInsert() {
+        //given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        List<MemberImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(new MemberImportRow("bulk" + i, 88, i % 2 == 0 ? teamA.getId() : null));
+        }
+
+        int synchronizations = TransactionSynchronizationManager.getSynchronizations().size();
+
+        //when
+        long inserted = memberRepository.bulkInsert(rows.iterator());
+
+        //then
+        assertThat(inserted).isEqualTo(2500);
+        assertThat(TransactionSynchronizationManager.getSynchronizations().size() - synchronizations).isLessThan(10);
+        List<Member> found = memberRepository.findByUsername("bulk0");
+        assertThat(found).hasSize(1);
+        assertThat(found.get(0).getTeam().getName()).isEqualTo("teamA");
+    }
+
     @Test
     public void bulkUpdate() {
         //given
@@ -322,6 +544,65 @@ class MemberRepositoryTest {
         }
     }
 
+    /**
+     * N+1 자동 검출: 실행된 SQL 수 검증 (QueryCountAssert)
+     */
+    @Test
+    @Rollback
+    public void findMemberLazyQueryCount() {
+        //given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        teamRepository.save(teamA);
+        teamRepository.save(teamB);
+        memberRepository.save(new Member("lazy1", 10, teamA));
+        memberRepository.save(new Member("lazy2", 10, teamB));
+        em.flush();
+        em.clear();
+
+        //when & then
+        assertThatQueries(() -> {
+            List<Member> members = memberRepository.findMemberFetchJoin(); //페치 조인: 쿼리 1번
+            for (Member member : members) {
+                if (member.getTeam() != null) {
+                    member.getTeam().getName(); //이미 로딩됨 -> 추가 쿼리 X
+                }
+            }
+        }).hasExactly(1).hasNoRepeatedStatements();
+    }
+
+    /**
+     * N+1 검출 (반대 경우): 회원마다 따로 조회 + 지연 로딩 getTeam() -> 팀 select가 회원 수만큼 반복 -> 호출 위치까지 보고
+     */
+    @Test
+    @Rollback
+    public void detectLazyNPlusOne() {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Team team = teamRepository.save(new Team("nPlusOneTeam" + i));
+            ids.add(memberRepository.save(new Member("nPlusOne" + i, 10, team)).getId());
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        QueryCounter.start();
+        QueryCount count;
+        try {
+            for (Long id : ids) {
+                memberRepository.findById(id).get().getTeam().getName(); //팀 프록시 초기화 -> 회원마다 쿼리
+            }
+        } finally {
+            count = QueryCounter.stop();
+        }
+
+        //then
+        List<RepeatedStatement> repeated = count.repeated(3);
+        assertThat(repeated).extracting(RepeatedStatement::getSql).anyMatch(sql -> sql.contains("from team"));
+        assertThat(repeated).extracting(RepeatedStatement::getCallSite).allMatch(site -> site.contains("MemberRepositoryTest"));
+    }
+
     /**
      * JPA Hint & Lock
      */
@@ -361,6 +642,31 @@ class MemberRepositoryTest {
         List<Member> result = memberRepository.findMemberCustom();
     }
 
+    /**
+     * 스트리밍 조회: 처리한 엔티티는 영속성 컨텍스트에서 바로 제거 (evict)
+     */
+    @Test
+    @Rollback
+    public void streamAll() {
+        //given
+        memberRepository.save(new Member("stream1", 10));
+        memberRepository.save(new Member("stream2", 10));
+        em.flush();
+        em.clear();
+
+        //when
+        List<String> usernames = new ArrayList<>();
+        long count = memberQueryRepository.streamAll(10, member -> {
+            usernames.add(member.getUsername());
+            assertThat(em.contains(member)).isTrue();
+        });
+
+        //then
+        assertThat(count).isEqualTo(memberRepository.count());
+        assertThat(usernames).contains("stream1", "stream2");
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero(); //영속성 컨텍스트 비어있음
+    }
+
     /**
      * 나머지 기능 - 명세(Specification)
      * - 실무에서 안 씀(JPA Criteria 활용해야 해서...)
@@ -386,6 +692,35 @@ class MemberRepositoryTest {
         assertThat(result.size()).isEqualTo(1);
     }
 
+    /**
+     * 같은 shape(username and teamName)면 값이 달라도 JPQL 번역은 한 번
+     */
+    @Test
+    @Rollback
+    public void specCached() {
+        //given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("spec1", 0, teamA));
+        em.persist(new Member("spec2", 0, teamA));
+        em.flush();
+        em.clear();
+        specificationQueryCache.clear();
+
+        //when
+        List<Member> first = memberRepository.findAllCached(MemberSpec.username("spec1").and(MemberSpec.teamName("teamA")));
+        List<Member> second = memberRepository.findAllCached(MemberSpec.username("spec2").and(MemberSpec.teamName("teamA")));
+        List<Member> skipped = memberRepository.findAllCached(MemberSpec.username("spec2").and(MemberSpec.teamName(null)));
+
+        //then
+        assertThat(first).extracting("username").containsExactly("spec1");
+        assertThat(second).extracting("username").containsExactly("spec2");
+        assertThat(skipped).extracting("username").containsExactly("spec2");
+        SpecCacheStats stats = specificationQueryCache.stats();
+        assertThat(stats.getMissCount()).isEqualTo(2); //(username and teamName), username
+        assertThat(stats.getHitCount()).isEqualTo(1);
+    }
+
     /**
      * Query By Example
      * - 동적 쿼리 생성 가능. 도메인 객체를 그대로 사용.
@@ -502,4 +837,108 @@ class MemberRepositoryTest {
             System.out.println("memberProjection = " + memberProjection.getTeamName());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 열린 Projection(SpEL) -> ProjectionPlanner가 필요한 컬럼만 select + left join
+     * - 엔티티 로딩 X, 지연 로딩 Team 추가 쿼리 X
+     */
+    @Test
+    @Rollback
+    public void openProjectionPlanned() {
+        //given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("open1", 20, teamA));
+        em.flush();
+        em.clear();
+
+        //when & then
+        List<String> usernames = new ArrayList<>();
+        assertThatQueries(() -> {
+            for (UsernameOnly usernameOnly : memberRepository.findProjectionsByUsername("open1", UsernameOnly.class)) {
+                usernames.add(usernameOnly.getUsername());
+            }
+        }).hasExactly(1);
+        assertThat(usernames).containsExactly("open1 20 teamA");
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(0);
+    }
+
+    /**
+     * 중첩 닫힌 Projection -> 팀 엔티티 전체가 아닌 팀 이름만 평탄하게 select
+     */
+    @Test
+    @Rollback
+    public void nestedProjectionPlanned() {
+        //given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("nested1", 0, teamA));
+        em.persist(new Member("nested2", 0));
+        em.flush();
+        em.clear();
+
+        //when & then
+        List<String> teamNames = new ArrayList<>();
+        assertThatQueries(() -> {
+            List<NestedClosedProjections> result = memberRepository.findProjectionsByUsername("nested1", NestedClosedProjections.class);
+            result.addAll(memberRepository.findProjectionsByUsername("nested2", NestedClosedProjections.class));
+            for (NestedClosedProjections projection : result) {
+                teamNames.add(projection.getTeam() == null ? null : projection.getTeam().getName());
+            }
+        }).hasExactly(2);
+        assertThat(teamNames).containsExactly("teamA", null);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(0);
+    }
+
+    /**
+     * id 단건 Projection (@Projected 경로 변수 변환)
+     * - 인터페이스/DTO 모두 엔티티 로딩 없이 1번 조회, 없는 id -> Optional.empty
+     */
+    @Test
+    @Rollback
+    public void findProjectedById() {
+        //given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        Member member = new Member("projected1", 30, teamA);
+        em.persist(member);
+        em.flush();
+        em.clear();
+
+        //when & then
+        assertThatQueries(() -> {
+            Optional<UsernameOnly> open = memberRepository.findProjectedById(member.getId(), UsernameOnly.class);
+            assertThat(open.get().getUsername()).isEqualTo("projected1 30 teamA");
+        }).hasExactly(1);
+        assertThatQueries(() -> {
+            Optional<UsernameOnlyDto> dto = memberRepository.findProjectedById(member.getId(), UsernameOnlyDto.class);
+            assertThat(dto.get().getUsername()).isEqualTo("projected1");
+        }).hasExactly(1);
+        assertThat(memberRepository.findProjectedById(-1L, UsernameOnlyDto.class)).isEmpty();
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(0);
+    }
+
+    /**
+     * 조건부 GET 확인용 버전 조회: 수정(벌크 포함)마다 version + lastModifiedDate 변경
+     */
+    @Test
+    @Rollback
+    public void versionProbe() {
+        //given
+        Member member = memberRepository.save(new Member("etag1", 1000));
+        em.flush();
+        MemberVersion before = memberRepository.findVersionById(member.getId()).get();
+        LocalDateTime tableBefore = memberRepository.findLastModified();
+
+        //when
+        memberRepository.bulkAgePlus(1000);
+
+        //then
+        MemberVersion after = memberRepository.findVersionById(member.getId()).get();
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 1);
+        assertThat(after.getLastModifiedDate()).isAfterOrEqualTo(before.getLastModifiedDate());
+        assertThat(memberRepository.findLastModified()).isAfterOrEqualTo(tableBefore);
+        assertThat(memberRepository.findTableVersion().getLastModified()).isEqualTo(memberRepository.findLastModified());
+        assertThat(memberRepository.findVersionById(-1L)).isEmpty();
+    }
+}
@@ -0,0 +1,111 @@
+package study.datajpa.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.diagnostics.AssociationFetchStats;
+import study.datajpa.diagnostics.BatchFetchStatistics;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.datajpa.diagnostics.QueryCountAssert.assertThatQueries;
+
+/**
+ * Team 2차 캐시
+ * - em.clear() 해도(= 다른 영속성 컨텍스트) 2차 캐시에서 꺼내므로 쿼리 X
+ */
+@SpringBootTest
+@Transactional
+class TeamRepositoryTest {
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    BatchFetchStatistics batchFetchStatistics;
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void secondLevelCache() {
+        //given
+        Team team = teamRepository.save(new Team("cachedTeam"));
+        em.flush();
+        em.clear();
+        CacheRegionStatistics stats = em.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics().getDomainDataRegionStatistics(Team.class.getName());
+        long hitsBefore = stats.getHitCount();
+
+        //when
+        teamRepository.findById(team.getId()); //DB 조회 -> 2차 캐시 저장
+        em.clear();
+        Team cached = teamRepository.findById(team.getId()).get(); //2차 캐시 hit
+
+        //then
+        assertThat(cached.getName()).isEqualTo("cachedTeam");
+        assertThat(stats.getHitCount()).isEqualTo(hitsBefore + 1);
+    }
+
+    /**
+     * 지연 로딩 배치 조회: 팀 3개의 members 초기화 -> 팀마다 1번(N+1)이 아니라 IN 으로 1번
+     */
+    @Test
+    public void batchFetchMembers() {
+        //given
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("batchTeam" + i);
+            em.persist(team);
+            em.persist(new Member("batchMember" + i, 10, team));
+        }
+        em.flush();
+        em.clear();
+
+        //when & then
+        assertThatQueries(() -> {
+            List<Team> teams = em.createQuery("select t from Team t where t.name like 'batchTeam%'", Team.class)
+                    .getResultList();
+            for (Team team : teams) {
+                assertThat(team.getMembers()).hasSize(1);
+            }
+        }).hasExactly(2).hasNoRepeatedStatements();
+    }
+
+    /**
+     * 배치 조회 통계: 팀 3개 컬렉션 초기화 1번 -> 조회 1번에 3개 로딩 (절약 2번)
+     */
+    @Test
+    public void batchFetchStatistics() {
+        //given
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("statsTeam" + i);
+            em.persist(team);
+            em.persist(new Member("statsMember" + i, 10, team));
+        }
+        em.flush();
+        em.clear();
+        AssociationFetchStats before = membersStats();
+
+        //when
+        List<Team> teams = em.createQuery("select t from Team t where t.name like 'statsTeam%'", Team.class)
+                .getResultList();
+        teams.get(0).getMembers().size();
+
+        //then
+        AssociationFetchStats after = membersStats();
+        assertThat(after.getFetchCount() - before.getFetchCount()).isEqualTo(1);
+        assertThat(after.getLoadCount() - before.getLoadCount()).isEqualTo(3);
+    }
+
+    private AssociationFetchStats membersStats() {
+        return batchFetchStatistics.associations().stream()
+                .filter(stats -> stats.getName().equals(Team.class.getName() + ".members"))
+                .findFirst()
+                .orElse(new AssociationFetchStats("", "collection", 0, 0));
+    }
+}
@@ -0,0 +1,68 @@
+package study.datajpa.repository.chunk;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.concurrent.ReadOnlyExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * datajpa.in-list.parallel=true: 청크는 ReadOnlyExecutor 스레드, 쓰기 트랜잭션 안에서는 순차 실행
+ * - 청크가 여러 개 나오게 chunk-size=2
+ */
+@SpringBootTest(properties = {"datajpa.in-list.parallel=true", "datajpa.in-list.chunk-size=2"})
+class InListChunkerTest {
+    @Autowired
+    InListChunker inListChunker;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void chunksRunOnExecutor() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> result = inListChunker.query(Arrays.asList(1, 2, 3, 4, 5, 1), chunk -> {
+            threads.add(Thread.currentThread().getName());
+            return new ArrayList<>(chunk);
+        });
+
+        assertThat(result).containsExactly(1, 2, 3, 4, 5); //청크 순서 유지, 중복 제거
+        assertThat(threads).isNotEmpty().allSatisfy(name -> assertThat(name).startsWith(ReadOnlyExecutor.THREAD_PREFIX));
+    }
+
+    /**
+     * 쓰기 트랜잭션 안 -> 호출 스레드에서 순차 실행: 커밋 전 회원도 보이고, 영속 엔티티가 그대로 반환됨
+     */
+    @Test
+    public void writeTransactionRunsSequentially() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Member uncommitted = memberRepository.save(new Member("inListNew", 10));
+            String caller = Thread.currentThread().getName();
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+
+            inListChunker.query(Arrays.asList(1, 2, 3), chunk -> {
+                threads.add(Thread.currentThread().getName());
+                return chunk;
+            });
+            List<Member> found = memberRepository.findByNames(Arrays.asList("inListNew", "none1", "none2"));
+
+            assertThat(threads).containsExactly(caller);
+            assertThat(found).hasSize(1);
+            assertThat(found.get(0)).isSameAs(uncommitted);
+            status.setRollbackOnly();
+        });
+    }
+}
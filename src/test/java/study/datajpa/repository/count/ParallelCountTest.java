@@ -0,0 +1,134 @@
+package study.datajpa.repository.count;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberProjection;
+import study.datajpa.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.datajpa.diagnostics.QueryCountAssert.assertThatQueries;
+
+/**
+ * count는 별도 트랜잭션 -> 테스트 트랜잭션(@Transactional) 없이 커밋된 데이터(시작 시 등록한 회원)로 확인
+ */
+@SpringBootTest(properties = "datajpa.count.parallel=true")
+class ParallelCountTest {
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PageCounter pageCounter;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void findAllParallel() {
+        List<Page<Member>> result = new ArrayList<>();
+
+        //count 쿼리는 ReadOnlyExecutor 스레드 -> 호출 스레드의 SQL에는 content 쿼리만
+        assertThatQueries(() -> result.add(memberRepository.findAll(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username")))))
+                .hasExactly(1)
+                .hasNoStatementContaining("count(");
+
+        Page<Member> page = result.get(0);
+        assertThat(page).isNotInstanceOf(SlicedPage.class);
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getTotalElements()).isEqualTo(memberRepository.count());
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    public void nativeProjectionParallel() {
+        Page<MemberProjection> page = memberRepository.findByNativeProjection(PageRequest.of(1, 3));
+
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getContent()).allSatisfy(m -> assertThat(m.getUsername()).isNotNull());
+        assertThat(page.getTotalElements()).isEqualTo(memberRepository.count());
+    }
+
+    /**
+     * 쓰기 트랜잭션 안 -> Spring Data 순차 실행 (같은 트랜잭션에서 count -> 커밋 전 회원도 셈)
+     */
+    @Test
+    public void writeTransactionFallsBackToSequential() {
+        long committed = memberRepository.count();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberRepository.save(new Member("parallel-uncommitted", 10));
+            List<Page<Member>> result = new ArrayList<>();
+
+            assertThatQueries(() -> result.add(memberRepository.findByAge(0, PageRequest.of(0, 3))))
+                    .hasStatementContaining("count(");
+
+            assertThat(result.get(0).getTotalElements()).isEqualTo(committed + 1);
+            status.setRollbackOnly();
+        });
+    }
+
+    /**
+     * CountMode 페이징(findMemberPage)도 쓰기 트랜잭션 안에서는 같은 트랜잭션에서 count
+     */
+    @Test
+    public void memberPageCountsUncommittedRows() {
+        long committed = memberRepository.count();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberRepository.save(new Member("parallel-page-uncommitted", 10));
+
+            Page<Member> page = memberRepository.findMemberPage(PageRequest.of(0, 3), CountMode.EXACT);
+
+            assertThat(page.getTotalElements()).isEqualTo(committed + 1);
+            status.setRollbackOnly();
+        });
+    }
+
+    /**
+     * 마지막 페이지 -> content만으로 전체 수를 앎
+     */
+    @Test
+    public void lastPage() {
+        long total = memberRepository.count();
+
+        Page<Member> page = memberRepository.findByAge(0, PageRequest.of(0, (int) total + 10));
+
+        assertThat(page.getContent()).hasSize((int) total);
+        assertThat(page.getTotalElements()).isEqualTo(total);
+    }
+
+    @Test
+    public void countTimeoutDegradesToSlice() {
+        Page<String> page = pageCounter.getPageWithin(
+                () -> new SliceImpl<>(Arrays.asList("a", "b", "c"), PageRequest.of(0, 3), true), //다음 페이지 있음
+                PageRequest.of(0, 3),
+                () -> {
+                    sleep(500);
+                    return 100;
+                },
+                Duration.ofMillis(50));
+
+        assertThat(page).isInstanceOf(SlicedPage.class);
+        assertThat(page.getContent()).containsExactly("a", "b", "c");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(((SlicedPage<String>) page).isTotalExact()).isFalse();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package study.datajpa.repository.custom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.lookup.MemberLookupCache;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 청크마다 별도 트랜잭션으로 커밋 -> 테스트 트랜잭션(@Transactional) 없이 실행하고 직접 정리
+ * - 다른 테스트 데이터와 겹치지 않게 나이 500 이상만 사용
+ */
+@SpringBootTest
+class MemberBulkUpdaterTest {
+    private static final int AGE = 500;
+
+    @Autowired
+    MemberBulkUpdater memberBulkUpdater;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberLookupCache memberLookupCache;
+    @PersistenceContext
+    EntityManager em;
+
+    private final List<Member> members = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        memberRepository.deleteInBatch(members);
+    }
+
+    @Test
+    public void agePlusInChunks() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            members.add(memberRepository.save(new Member("chunk" + i, AGE + i)));
+        }
+        List<BulkUpdateProgress> reported = new ArrayList<>();
+
+        //when
+        BulkUpdateProgress result = memberBulkUpdater.agePlus(AGE, 2, null, reported::add);
+
+        //then
+        assertThat(result.getUpdatedRows()).isEqualTo(5);
+        assertThat(result.getChunks()).isEqualTo(3); //2 + 2 + 1
+        assertThat(reported).hasSize(3);
+        assertThat(memberRepository.findById(members.get(0).getId()).get().getAge()).isEqualTo(AGE + 1);
+    }
+
+    @Test
+    public void resumeAfterId() {
+        //given
+        for (int i = 0; i < 4; i++) {
+            members.add(memberRepository.save(new Member("resume" + i, AGE)));
+        }
+
+        //when: 두 번째 회원까지 처리됐다고 가정하고 이어서 실행
+        BulkUpdateProgress result = memberBulkUpdater.agePlus(AGE, 10, members.get(1).getId(), p -> {
+        });
+
+        //then
+        assertThat(result.getUpdatedRows()).isEqualTo(2);
+        assertThat(memberRepository.findById(members.get(1).getId()).get().getAge()).isEqualTo(AGE);
+        assertThat(memberRepository.findById(members.get(2).getId()).get().getAge()).isEqualTo(AGE + 1);
+    }
+
+    @Test
+    public void evictOnlyUpdatedMembers() {
+        //given
+        Member old = memberRepository.save(new Member("evicted", AGE));
+        Member young = memberRepository.save(new Member("kept", 1));
+        members.add(old);
+        members.add(young);
+
+        //when & then
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Member managedOld = em.find(Member.class, old.getId());
+            Member managedYoung = em.find(Member.class, young.getId());
+
+            memberBulkUpdater.agePlus(AGE);
+
+            assertThat(em.contains(managedOld)).isFalse(); //수정된 회원만 영속성 컨텍스트에서 제거
+            assertThat(em.contains(managedYoung)).isTrue();
+            assertThat(em.find(Member.class, old.getId()).getAge()).isEqualTo(AGE + 1);
+        });
+    }
+
+    /**
+     * 청크는 이미 커밋됨 -> 호출한 쪽 트랜잭션이 롤백해도 캐시 무효화는 일어나야 함
+     */
+    @Test
+    public void invalidateCachesWhenCallerRollsBack() {
+        //given
+        Member member = memberRepository.save(new Member("rollback", AGE));
+        members.add(member);
+        Long before = memberLookupCache.findCachedById(member.getId()).get().getVersion();
+
+        //when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberBulkUpdater.agePlus(AGE);
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(AGE + 1);
+        assertThat(memberLookupCache.findCachedById(member.getId()).get().getVersion()).isEqualTo(before + 1);
+    }
+}
@@ -0,0 +1,97 @@
+package study.datajpa.repository.lookup;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.datajpa.diagnostics.QueryCountAssert.assertThatQueries;
+
+/**
+ * 무효화는 커밋 후 -> 테스트 트랜잭션(@Transactional) 없이 실행하고 직접 정리
+ */
+@SpringBootTest
+class MemberLookupCacheTest {
+    @Autowired
+    MemberLookupCache memberLookupCache;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Long memberId;
+
+    @BeforeEach
+    public void setUp() {
+        memberId = memberRepository.save(new Member("lookup1", 1000)).getId();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        memberRepository.findById(memberId).ifPresent(memberRepository::delete);
+    }
+
+    @Test
+    public void cachedUntilChanged() {
+        //when & then: 두 번째부터는 DB 조회 X
+        assertThatQueries(() -> {
+            assertThat(memberLookupCache.findById(memberId).get().getUsername()).isEqualTo("lookup1");
+            assertThat(memberLookupCache.findById(memberId).get().getUsername()).isEqualTo("lookup1");
+            assertThat(memberLookupCache.findByUsername("lookup1")).extracting(MemberDto::getId).containsExactly(memberId);
+            assertThat(memberLookupCache.findByUsername("lookup1")).hasSize(1);
+        }).hasExactly(2);
+
+        //엔티티 변경 커밋 -> 무효화
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.findById(memberId).get().setUsername("lookup2"));
+        assertThat(memberLookupCache.findById(memberId).get().getUsername()).isEqualTo("lookup2");
+        assertThat(memberLookupCache.findByUsername("lookup1")).isEmpty();
+        assertThat(memberLookupCache.findByUsername("lookup2")).hasSize(1);
+    }
+
+    @Test
+    public void bulkUpdateInvalidates() {
+        //given
+        memberLookupCache.findById(memberId);
+
+        //when: 벌크 수정은 엔티티 리스너를 안 거침 -> @Modifying 이벤트로 무효화 (age >= 1000: 이 회원만)
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> memberRepository.bulkAgePlus(1000));
+
+        //then
+        assertThatQueries(() -> memberLookupCache.findById(memberId)).hasExactly(1);
+    }
+
+    /**
+     * deleteInBatch: JPQL delete -> 엔티티 리스너 X, 벌크 이벤트로 무효화
+     */
+    @Test
+    public void deleteInBatchInvalidates() {
+        //given
+        Member member = memberRepository.findById(memberId).get();
+        assertThat(memberLookupCache.findById(memberId)).isPresent();
+        assertThat(memberLookupCache.findByUsername("lookup1")).hasSize(1);
+
+        //when
+        memberRepository.deleteInBatch(List.of(member));
+
+        //then
+        assertThat(memberLookupCache.findById(memberId)).isEmpty();
+        assertThat(memberLookupCache.findByUsername("lookup1")).isEmpty();
+    }
+
+    @Test
+    public void copyReturned() {
+        memberLookupCache.findById(memberId).get().setUsername("changed");
+
+        assertThat(memberLookupCache.findById(memberId).get().getUsername()).isEqualTo("lookup1");
+    }
+}
@@ -0,0 +1,93 @@
+package study.datajpa.repository.retry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 시도마다 커밋 -> 테스트 트랜잭션(@Transactional) 없이 실행하고 직접 정리
+ */
+@SpringBootTest
+class OptimisticRetryExecutorTest {
+    @Autowired
+    OptimisticRetryExecutor retryExecutor;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Long memberId;
+
+    @BeforeEach
+    public void setUp() {
+        memberId = memberRepository.save(new Member("retry", 10)).getId();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        memberRepository.deleteById(memberId);
+    }
+
+    @Test
+    public void retryOnConflict() {
+        //given
+        RetryStats before = retryExecutor.stats();
+        AtomicInteger calls = new AtomicInteger();
+
+        //when: 첫 시도 중에 다른 트랜잭션이 먼저 수정 -> 충돌 -> 다시 읽고 재시도
+        retryExecutor.execute(() -> {
+            Member member = memberRepository.findById(memberId).get();
+            if (calls.incrementAndGet() == 1) {
+                concurrentAgePlus(100);
+            }
+            member.setAge(member.getAge() + 1);
+            return null;
+        });
+
+        //then
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(memberRepository.findById(memberId).get().getAge()).isEqualTo(111); //두 수정 모두 반영
+        RetryStats after = retryExecutor.stats();
+        assertThat(after.getConflicts() - before.getConflicts()).isEqualTo(1);
+        assertThat(after.getRecovered() - before.getRecovered()).isEqualTo(1);
+    }
+
+    @Test
+    public void exhausted() {
+        //given
+        RetryStats before = retryExecutor.stats();
+
+        //when & then: 매번 충돌 -> max-attempts(5) 후 예외
+        assertThatThrownBy(() -> retryExecutor.execute(() -> {
+            Member member = memberRepository.findById(memberId).get();
+            concurrentAgePlus(1);
+            member.setAge(0);
+            return null;
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        RetryStats after = retryExecutor.stats();
+        assertThat(after.getAttempts() - before.getAttempts()).isEqualTo(5);
+        assertThat(after.getExhausted() - before.getExhausted()).isEqualTo(1);
+    }
+
+    private void concurrentAgePlus(int plus) {
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        other.executeWithoutResult(status -> {
+            Member member = memberRepository.findById(memberId).get();
+            member.setAge(member.getAge() + plus);
+        });
+    }
+}